@@ -0,0 +1,227 @@
+package exporter.diff;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+public class ExportDiff {
+    private static final Gson GSON = new GsonBuilder()
+            .serializeNulls()
+            .setPrettyPrinting()
+            .disableHtmlEscaping()
+            .create();
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: ExportDiff <old export> <new export> [changelog.json]");
+            System.exit(2);
+        }
+        var changelog = diff(load(Path.of(args[0])), load(Path.of(args[1])));
+        if (args.length > 2) {
+            Files.writeString(Path.of(args[2]), GSON.toJson(changelog));
+        } else {
+            System.out.println(GSON.toJson(changelog));
+        }
+    }
+
+    public static JsonObject load(Path path) throws IOException {
+        if (Files.isDirectory(path)) {
+            var export = new JsonObject();
+            try (var files = Files.list(path)) {
+                for (var file : files.sorted().toList()) {
+                    var name = file.getFileName().toString();
+                    if (!name.contains(".json") || name.equals("manifest.json")) continue;
+                    export.add(name.substring(0, name.indexOf(".json")), parse(file));
+                }
+            }
+            return export;
+        }
+        return parse(path).getAsJsonObject();
+    }
+
+    private static JsonElement parse(Path path) throws IOException {
+        InputStream in = Files.newInputStream(path);
+        var name = path.getFileName().toString();
+        if (name.endsWith(".gz")) in = new GZIPInputStream(in, 1 << 16);
+        else if (name.endsWith(".deflate")) in = new InflaterInputStream(in);
+        try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            return JsonParser.parseReader(reader);
+        }
+    }
+
+    public static JsonObject diff(JsonObject oldExport, JsonObject newExport) {
+        var names = new LinkedHashSet<>(oldExport.keySet());
+        names.addAll(newExport.keySet());
+        var results = names.parallelStream()
+                .map(name -> new AbstractMap.SimpleEntry<>(name, diffSection(name, oldExport.get(name), newExport.get(name))))
+                .toList();
+        var changelog = new JsonObject();
+        for (var result : results) {
+            if (result.getValue() != null) changelog.add(result.getKey(), result.getValue());
+        }
+        return changelog;
+    }
+
+    private static JsonObject diffSection(String name, JsonElement oldSection, JsonElement newSection) {
+        if (oldSection == null || newSection == null) {
+            var change = new JsonObject();
+            change.addProperty(oldSection == null ? "added" : "removed", true);
+            return change;
+        }
+        var oldEntries = entries(name, oldSection);
+        var newEntries = entries(name, newSection);
+        if (oldEntries == null || newEntries == null) {
+            if (hash(oldSection) == hash(newSection)) return null;
+            var change = new JsonObject();
+            change.addProperty("changed", true);
+            return change;
+        }
+
+        var added = new JsonArray();
+        var removed = new JsonArray();
+        var changed = new JsonObject();
+        for (var entry : oldEntries.entrySet()) {
+            var newEntry = newEntries.get(entry.getKey());
+            if (newEntry == null) {
+                removed.add(entry.getKey());
+            } else if (newEntry.hash != entry.getValue().hash) {
+                var changes = diffEntry(entry.getValue().element, newEntry.element);
+                if (changes.size() > 0) changed.add(entry.getKey(), changes);
+            }
+        }
+        for (var key : newEntries.keySet()) {
+            if (!oldEntries.containsKey(key)) added.add(key);
+        }
+        if (added.size() == 0 && removed.size() == 0 && changed.size() == 0) return null;
+        var change = new JsonObject();
+        if (added.size() > 0) change.add("added", added);
+        if (removed.size() > 0) change.add("removed", removed);
+        if (changed.size() > 0) change.add("changed", changed);
+        return change;
+    }
+
+    private static Map<String, Entry> entries(String section, JsonElement element) {
+        var entries = new LinkedHashMap<String, Entry>();
+        if (section.equals("packets") && element.isJsonObject()) {
+            for (var protocol : element.getAsJsonObject().entrySet()) {
+                for (var flow : protocol.getValue().getAsJsonObject().entrySet()) {
+                    var packets = flow.getValue().getAsJsonArray();
+                    for (int id = 0; id < packets.size(); id++) {
+                        var packet = packets.get(id).getAsJsonObject().deepCopy();
+                        packet.addProperty("id", id);
+                        var name = protocol.getKey() + "/" + flow.getKey() + "/" + packet.get("name").getAsString();
+                        entries.put(name, new Entry(packet));
+                    }
+                }
+            }
+        } else if (element.isJsonArray()) {
+            for (var entry : element.getAsJsonArray()) {
+                if (!entry.isJsonObject() || !entry.getAsJsonObject().has("name")) return null;
+                entries.put(entry.getAsJsonObject().get("name").getAsString(), new Entry(entry));
+            }
+        } else if (element.isJsonObject() && section.equals("blockStateProperties")) {
+            for (var entry : element.getAsJsonObject().entrySet()) entries.put(entry.getKey(), new Entry(entry.getValue()));
+        } else {
+            return null;
+        }
+        return entries;
+    }
+
+    private static JsonObject diffEntry(JsonElement oldEntry, JsonElement newEntry) {
+        var changes = new JsonObject();
+        if (!oldEntry.isJsonObject() || !newEntry.isJsonObject()) {
+            changes.add("old", oldEntry);
+            changes.add("new", newEntry);
+            return changes;
+        }
+        var oldObject = oldEntry.getAsJsonObject();
+        var newObject = newEntry.getAsJsonObject();
+        var keys = new LinkedHashSet<>(oldObject.keySet());
+        keys.addAll(newObject.keySet());
+        for (var key : keys) {
+            var oldValue = oldObject.get(key);
+            var newValue = newObject.get(key);
+            if (Objects.equals(oldValue, newValue)) continue;
+            var change = new JsonObject();
+            change.add("old", oldValue);
+            change.add("new", newValue);
+            if (oldValue != null && newValue != null && oldValue.isJsonArray() && newValue.isJsonArray()) {
+                diffArray(change, oldValue.getAsJsonArray(), newValue.getAsJsonArray());
+            }
+            changes.add(key, change);
+        }
+        return changes;
+    }
+
+    private static void diffArray(JsonObject change, JsonArray oldArray, JsonArray newArray) {
+        var oldValues = new LinkedHashSet<JsonElement>();
+        oldArray.forEach(oldValues::add);
+        var newValues = new LinkedHashSet<JsonElement>();
+        newArray.forEach(newValues::add);
+        var added = new JsonArray();
+        for (var value : newValues) if (!oldValues.contains(value)) added.add(value);
+        var removed = new JsonArray();
+        for (var value : oldValues) if (!newValues.contains(value)) removed.add(value);
+        if (added.size() > 0) change.add("added", added);
+        if (removed.size() > 0) change.add("removed", removed);
+    }
+
+    // FNV-1a over a canonical form of the element: object keys are hashed in sorted order and numbers by their double
+    // value, so elements that JsonElement.equals() considers equal always hash the same. Equal hashes are taken as
+    // unchanged without a deep compare.
+    private static long hash(JsonElement element) {
+        return hash(0xcbf29ce484222325L, element);
+    }
+
+    private static long hash(long hash, JsonElement element) {
+        if (element.isJsonObject()) {
+            var object = element.getAsJsonObject();
+            hash = hash(hash, '{');
+            for (var key : new TreeSet<>(object.keySet())) {
+                hash = hash(hash, key);
+                hash = hash(hash, object.get(key));
+            }
+            return hash(hash, '}');
+        } else if (element.isJsonArray()) {
+            hash = hash(hash, '[');
+            for (var value : element.getAsJsonArray()) hash = hash(hash, value);
+            return hash(hash, ']');
+        } else if (element.isJsonNull()) {
+            return hash(hash, 'n');
+        }
+        var primitive = element.getAsJsonPrimitive();
+        if (primitive.isNumber()) return hash(hash, "#" + primitive.getAsDouble());
+        if (primitive.isBoolean()) return hash(hash, primitive.getAsBoolean() ? 't' : 'f');
+        return hash(hash, "\"" + primitive.getAsString());
+    }
+
+    private static long hash(long hash, String value) {
+        hash = hash(hash, (char) value.length());
+        for (int i = 0; i < value.length(); i++) hash = hash(hash, value.charAt(i));
+        return hash;
+    }
+
+    private static long hash(long hash, char value) {
+        return (hash ^ value) * 0x100000001b3L;
+    }
+
+    private record Entry(JsonElement element, long hash) {
+        Entry(JsonElement element) {
+            this(element, ExportDiff.hash(element));
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package exporter.diff;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ExportDiffTest {
+    @TempDir
+    Path directory;
+
+    private static JsonObject json(String json) {
+        return JsonParser.parseString(json.replace('\'', '"')).getAsJsonObject();
+    }
+
+    @Test
+    void ignoresReorderedEntriesAndKeys() {
+        var oldExport = json("{'blocks': [{'name': 'a', 'id': 0, 'class': 'Block'}, {'name': 'b', 'id': 1}],"
+                + " 'blockStates': {'block': [0, 1], 'properties': [0, 0]}}");
+        var newExport = json("{'blockStates': {'properties': [0, 0], 'block': [0, 1]},"
+                + " 'blocks': [{'id': 1, 'name': 'b'}, {'class': 'Block', 'id': 0, 'name': 'a'}]}");
+        assertEquals(new JsonObject(), ExportDiff.diff(oldExport, newExport));
+    }
+
+    @Test
+    void reportsAddedRemovedAndChangedBlocks() {
+        var oldExport = json("{'blocks': [{'name': 'a', 'id': 0}, {'name': 'b', 'id': 1}, {'name': 'c', 'id': 2}]}");
+        var newExport = json("{'blocks': [{'name': 'a', 'id': 0}, {'name': 'c', 'id': 1}, {'name': 'd', 'id': 2}]}");
+        assertEquals(json("{'blocks': {'added': ['d'], 'removed': ['b'], 'changed': {'c': {'id': {'old': 2, 'new': 1}}}}}"),
+                ExportDiff.diff(oldExport, newExport));
+    }
+
+    @Test
+    void reportsPacketsThatMovedIds() {
+        var oldExport = json("{'packets': {'play': {'clientbound': [{'name': 'A'}, {'name': 'B'}]}}}");
+        var newExport = json("{'packets': {'play': {'clientbound': [{'name': 'B'}, {'name': 'A'}]}}}");
+        assertEquals(json("{'packets': {'changed': {"
+                        + "'play/clientbound/A': {'id': {'old': 0, 'new': 1}},"
+                        + " 'play/clientbound/B': {'id': {'old': 1, 'new': 0}}}}}"),
+                ExportDiff.diff(oldExport, newExport));
+    }
+
+    @Test
+    void reportsAddedAndRemovedEnumConstants() {
+        var oldExport = json("{'enumClasses': [{'name': 'E', 'constants': [{'name': 'X'}, {'name': 'Y'}]}]}");
+        var newExport = json("{'enumClasses': [{'name': 'E', 'constants': [{'name': 'Y'}, {'name': 'Z'}]}]}");
+        var change = ExportDiff.diff(oldExport, newExport)
+                .getAsJsonObject("enumClasses").getAsJsonObject("changed").getAsJsonObject("E").getAsJsonObject("constants");
+        assertEquals(json("{'a': [{'name': 'Z'}]}").get("a"), change.get("added"));
+        assertEquals(json("{'a': [{'name': 'X'}]}").get("a"), change.get("removed"));
+    }
+
+    @Test
+    void reportsAddedAndRemovedSections() {
+        assertEquals(json("{'items': {'removed': true}, 'tags': {'added': true}}"),
+                ExportDiff.diff(json("{'items': []}"), json("{'tags': {}}")));
+    }
+
+    @Test
+    void loadsGzipAndShardedExports() throws IOException {
+        var gzip = directory.resolve("export.json.gz");
+        try (var out = new GZIPOutputStream(Files.newOutputStream(gzip))) {
+            out.write("{\"blocks\": [{\"name\": \"a\"}], \"items\": [{\"name\": \"i\"}]}".getBytes(StandardCharsets.UTF_8));
+        }
+        var shards = Files.createDirectory(directory.resolve("export"));
+        Files.writeString(shards.resolve("blocks.json"), "[{\"name\": \"a\"}, {\"name\": \"b\"}]");
+        Files.writeString(shards.resolve("items.json"), "[{\"name\": \"i\"}]");
+        Files.writeString(shards.resolve("manifest.json"), "{\"options\": \"\", \"sections\": {}}");
+
+        assertEquals(json("{'blocks': [{'name': 'a'}], 'items': [{'name': 'i'}]}"), ExportDiff.load(gzip));
+        assertEquals(json("{'blocks': {'added': ['b']}}"), ExportDiff.diff(ExportDiff.load(gzip), ExportDiff.load(shards)));
+    }
+}
@@ -0,0 +1,66 @@
+package exporter.reader;
+
+/*
+ * Layout of export.bin (all values little-endian):
+ *
+ *   int magic, int version, int sectionCount
+ *   sectionCount x (int id, int offset, int count, int recordSize, int indexOffset)
+ *
+ * The string section holds count + 1 byte offsets followed by the UTF-8 data. Strings are
+ * deduplicated and sorted by their UTF-8 bytes, so a name can be found by binary search.
+ * Every other section is a table of fixed-width records made of 4-byte columns, where string
+ * columns hold indices into the string table. If indexOffset is not 0, it points to count
+ * record indices sorted by the name in column 0.
+ *
+ * The properties of block b are the BLOCK_PROPERTY_COUNT records of the block property table
+ * starting at BLOCK_FIRST_PROPERTY, in the order of the block's state strides.
+ */
+public final class BinaryFormat {
+    public static final int MAGIC = 0x5844434D; // "MCDX"
+    public static final int VERSION = 2;
+    public static final int HEADER_SIZE = 12;
+    public static final int SECTION_ENTRY_SIZE = 20;
+
+    public static final int STRINGS = 0;
+    public static final int BLOCKS = 1;
+    public static final int ITEMS = 2;
+    public static final int ENTITY_TYPES = 3;
+    public static final int PACKETS = 4;
+    public static final int BLOCK_PROPERTIES = 5;
+    public static final int SECTION_COUNT = 6;
+
+    public static final int BLOCK_NAME = 0;
+    public static final int BLOCK_CLASS = 1;
+    public static final int BLOCK_DEFAULT_STATE_ID = 2;
+    public static final int BLOCK_STATE_COUNT = 3;
+    public static final int BLOCK_FIRST_PROPERTY = 4;
+    public static final int BLOCK_PROPERTY_COUNT = 5;
+    public static final int BLOCK_COLUMNS = 6;
+
+    public static final int ITEM_NAME = 0;
+    public static final int ITEM_CLASS = 1;
+    public static final int ITEM_MAX_STACK_SIZE = 2;
+    public static final int ITEM_MAX_DAMAGE = 3;
+    public static final int ITEM_COLUMNS = 4;
+
+    public static final int ENTITY_TYPE_NAME = 0;
+    public static final int ENTITY_TYPE_CLASS = 1;
+    public static final int ENTITY_TYPE_CATEGORY = 2;
+    public static final int ENTITY_TYPE_WIDTH = 3;
+    public static final int ENTITY_TYPE_HEIGHT = 4;
+    public static final int ENTITY_TYPE_TRACKING_RANGE = 5;
+    public static final int ENTITY_TYPE_COLUMNS = 6;
+
+    public static final int PACKET_PROTOCOL = 0;
+    public static final int PACKET_FLOW = 1;
+    public static final int PACKET_ID = 2;
+    public static final int PACKET_NAME = 3;
+    public static final int PACKET_COLUMNS = 4;
+
+    public static final int BLOCK_PROPERTY_NAME = 0;
+    public static final int BLOCK_PROPERTY_VALUE_COUNT = 1;
+    public static final int BLOCK_PROPERTY_COLUMNS = 2;
+
+    private BinaryFormat() {
+    }
+}
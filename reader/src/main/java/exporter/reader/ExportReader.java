@@ -0,0 +1,158 @@
+package exporter.reader;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public final class ExportReader {
+    private final ByteBuffer buffer;
+    private final int stringCount;
+    private final int stringOffsets;
+    private final int stringData;
+    private final Table[] tables = new Table[BinaryFormat.SECTION_COUNT];
+
+    private ExportReader(ByteBuffer buffer) {
+        this.buffer = buffer.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.getInt(0) != BinaryFormat.MAGIC) throw new IllegalArgumentException("Not an export file");
+        int version = buffer.getInt(4);
+        if (version != BinaryFormat.VERSION) throw new IllegalArgumentException("Unsupported export version " + version);
+        int sectionCount = buffer.getInt(8);
+        int stringCount = 0, stringOffsets = 0;
+        for (int i = 0; i < sectionCount; i++) {
+            int entry = BinaryFormat.HEADER_SIZE + i * BinaryFormat.SECTION_ENTRY_SIZE;
+            int id = buffer.getInt(entry);
+            int offset = buffer.getInt(entry + 4);
+            int count = buffer.getInt(entry + 8);
+            if (id == BinaryFormat.STRINGS) {
+                stringCount = count;
+                stringOffsets = offset;
+            } else if (id < tables.length) {
+                tables[id] = new Table(offset, count, buffer.getInt(entry + 12), buffer.getInt(entry + 16));
+            }
+        }
+        this.stringCount = stringCount;
+        this.stringOffsets = stringOffsets;
+        this.stringData = stringOffsets + (stringCount + 1) * 4;
+    }
+
+    public static ExportReader open(Path path) throws IOException {
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new ExportReader(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public static ExportReader wrap(ByteBuffer buffer) {
+        return new ExportReader(buffer);
+    }
+
+    public int stringCount() {
+        return stringCount;
+    }
+
+    public String string(int index) {
+        int start = buffer.getInt(stringOffsets + index * 4);
+        int end = buffer.getInt(stringOffsets + index * 4 + 4);
+        var bytes = new byte[end - start];
+        buffer.get(stringData + start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public int findString(String string) {
+        var key = string.getBytes(StandardCharsets.UTF_8);
+        int low = 0, high = stringCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compareString(mid, key);
+            if (cmp < 0) low = mid + 1;
+            else if (cmp > 0) high = mid - 1;
+            else return mid;
+        }
+        return -1;
+    }
+
+    private int compareString(int index, byte[] key) {
+        int start = stringData + buffer.getInt(stringOffsets + index * 4);
+        int length = stringData + buffer.getInt(stringOffsets + index * 4 + 4) - start;
+        for (int i = 0; i < Math.min(length, key.length); i++) {
+            int cmp = Byte.compareUnsigned(buffer.get(start + i), key[i]);
+            if (cmp != 0) return cmp;
+        }
+        return Integer.compare(length, key.length);
+    }
+
+    public Table blocks() {
+        return table(BinaryFormat.BLOCKS);
+    }
+
+    public Table items() {
+        return table(BinaryFormat.ITEMS);
+    }
+
+    public Table entityTypes() {
+        return table(BinaryFormat.ENTITY_TYPES);
+    }
+
+    public Table packets() {
+        return table(BinaryFormat.PACKETS);
+    }
+
+    public Table blockProperties() {
+        return table(BinaryFormat.BLOCK_PROPERTIES);
+    }
+
+    private Table table(int id) {
+        var table = tables[id];
+        if (table == null) throw new IllegalStateException("Export has no section " + id);
+        return table;
+    }
+
+    public final class Table {
+        private final int offset;
+        private final int count;
+        private final int recordSize;
+        private final int indexOffset;
+
+        private Table(int offset, int count, int recordSize, int indexOffset) {
+            this.offset = offset;
+            this.count = count;
+            this.recordSize = recordSize;
+            this.indexOffset = indexOffset;
+        }
+
+        public int count() {
+            return count;
+        }
+
+        public int getInt(int record, int column) {
+            return buffer.getInt(offset + record * recordSize + column * 4);
+        }
+
+        public float getFloat(int record, int column) {
+            return buffer.getFloat(offset + record * recordSize + column * 4);
+        }
+
+        public String getString(int record, int column) {
+            return string(getInt(record, column));
+        }
+
+        public int find(String name) {
+            if (indexOffset == 0) throw new IllegalStateException("Section has no name index");
+            int string = findString(name);
+            if (string < 0) return -1;
+            int low = 0, high = count - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int record = buffer.getInt(indexOffset + mid * 4);
+                int cmp = Integer.compare(getInt(record, 0), string);
+                if (cmp < 0) low = mid + 1;
+                else if (cmp > 0) high = mid - 1;
+                else return record;
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package exporter.reader;
+
+// Minimal perfect hash over the names of one registry, built by the exporter in the hash-and-displace (CHD) style.
+// Every name is hashed once, its bucket picks a displacement and the displaced hash picks one of size() slots, which
+// maps to the registry ID. Buckets with a single name store the slot directly as -slot - 1.
+public final class PerfectHash {
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final int[] displacements;
+    private final int[] ids;
+
+    public PerfectHash(int[] displacements, int[] ids) {
+        this.displacements = displacements;
+        this.ids = ids;
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    // Returns the ID of one of the hashed names. Other names map to an arbitrary ID, so compare the name of the result if
+    // the name could be unknown.
+    public int id(CharSequence name) {
+        return ids[slot(name)];
+    }
+
+    public int slot(CharSequence name) {
+        long hash = hash(name);
+        int displacement = displacements[bucket(hash, displacements.length)];
+        return displacement < 0 ? -displacement - 1 : slot(hash, displacement, ids.length);
+    }
+
+    // FNV-1a over the UTF-16 code units, which are the bytes of the ASCII-only resource locations, finished with the
+    // 64-bit mixer of MurmurHash3.
+    public static long hash(CharSequence name) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < name.length(); i++) {
+            hash ^= name.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    public static int bucket(long hash, int buckets) {
+        return (int) Long.remainderUnsigned(hash, buckets);
+    }
+
+    public static int slot(long hash, int displacement, int size) {
+        return (int) Long.remainderUnsigned(mix(hash + (displacement + 1) * GOLDEN_GAMMA), size);
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
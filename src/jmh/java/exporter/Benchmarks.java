@@ -0,0 +1,26 @@
+package exporter;
+
+import net.minecraft.SharedConstants;
+import net.minecraft.server.Bootstrap;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+class Benchmarks {
+    static final List<String> SECTIONS = ModelBuilder.SECTIONS.stream().map(ExportSection::name).toList();
+
+    // Builds the whole model once so the classes and properties collected by one section are available to dependent sections.
+    static ExportModel bootstrap() {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+        return ModelBuilder.build(SECTIONS, ForkJoinPool.commonPool());
+    }
+
+    static ExportSection section(String name) {
+        return ModelBuilder.SECTIONS.stream().filter(section -> section.name().equals(name)).findFirst().orElseThrow();
+    }
+
+    static byte[] render(ExportModel model, String section, ExportOptions options) {
+        return JsonSink.render(model, section, options);
+    }
+}
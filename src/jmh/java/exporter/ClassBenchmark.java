@@ -0,0 +1,50 @@
+package exporter;
+
+import net.minecraft.core.Registry;
+import net.minecraft.network.ConnectionProtocol;
+import net.minecraft.network.protocol.PacketFlow;
+import net.minecraft.world.level.block.Block;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClassBenchmark {
+    private final List<Class<?>> packetClasses = new ArrayList<>();
+    private final List<Class<?>> blockClasses = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Benchmarks.bootstrap();
+        for (var protocol : ConnectionProtocol.values()) {
+            for (var flow : PacketFlow.values()) {
+                var packetsById = protocol.getPacketsByIds(flow);
+                for (int i = 0; i < packetsById.size(); i++) packetClasses.add(packetsById.get(i));
+            }
+        }
+        for (var block : Registry.BLOCK) blockClasses.add(block.getClass());
+    }
+
+    @Benchmark
+    public int getFullClassName() {
+        int length = 0;
+        for (var packetClass : packetClasses) length += DataExporter.getFullClassName(packetClass).length();
+        return length;
+    }
+
+    @Benchmark
+    public Set<Class<?>> collectClasses() {
+        var classes = new LinkedHashSet<Class<?>>();
+        for (var blockClass : blockClasses) ModelBuilder.collectClasses(classes, Block.class, blockClass);
+        return classes;
+    }
+}
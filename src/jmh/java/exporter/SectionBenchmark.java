@@ -0,0 +1,42 @@
+package exporter;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SectionBenchmark {
+    // Must be kept in sync with ModelBuilder.SECTIONS, JMH only accepts constant parameter lists.
+    @Param({"blockStateProperties", "blocks", "blockStates", "blockStateTransitions", "blockShapes", "blockClasses",
+            "items", "itemClasses", "entityTypes", "entityClasses", "tags", "nameHashes", "packets", "packetSchemas",
+            "enumClasses"})
+    public String section;
+
+    private ExportSection exportSection;
+    private ExportModel model;
+    private final ExportOptions options = new ExportOptions();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        model = Benchmarks.bootstrap();
+        exportSection = Benchmarks.section(section);
+    }
+
+    // Collectors read no cache file, but the shared reflection and property value caches stay warm across invocations,
+    // so this measures steady-state collection.
+    @Benchmark
+    public Object collect() {
+        return exportSection.collector().collect(ForkJoinPool.commonPool());
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return Benchmarks.render(model, section, options);
+    }
+}
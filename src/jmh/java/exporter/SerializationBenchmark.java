@@ -0,0 +1,69 @@
+package exporter;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+    private static final Gson PRETTY_GSON = new GsonBuilder()
+            .serializeNulls()
+            .setPrettyPrinting()
+            .disableHtmlEscaping()
+            .create();
+    private static final Gson COMPACT_GSON = new GsonBuilder()
+            .serializeNulls()
+            .disableHtmlEscaping()
+            .create();
+
+    private final ExportOptions prettyOptions = new ExportOptions();
+    private final ExportOptions compactOptions = new ExportOptions();
+    private final JsonObject tree = new JsonObject();
+    private ExportModel model;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        model = Benchmarks.bootstrap();
+        compactOptions.compact = true;
+        for (var section : Benchmarks.SECTIONS) {
+            var json = new String(Benchmarks.render(model, section, compactOptions), StandardCharsets.UTF_8);
+            tree.add(section, JsonParser.parseString(json));
+        }
+    }
+
+    @Benchmark
+    public String treePretty() {
+        return PRETTY_GSON.toJson(tree);
+    }
+
+    @Benchmark
+    public String treeCompact() {
+        return COMPACT_GSON.toJson(tree);
+    }
+
+    @Benchmark
+    public int streamingPretty() {
+        return streaming(prettyOptions);
+    }
+
+    @Benchmark
+    public int streamingCompact() {
+        return streaming(compactOptions);
+    }
+
+    private int streaming(ExportOptions options) {
+        int size = 0;
+        for (var section : Benchmarks.SECTIONS) size += Benchmarks.render(model, section, options).length;
+        return size;
+    }
+}
@@ -0,0 +1,180 @@
+package exporter;
+
+import com.mojang.logging.LogUtils;
+import exporter.reader.BinaryFormat;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.Executor;
+
+public class BinarySink implements ExportSink {
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    private static final Set<Integer> INDEXED_TABLES = Set.of(BinaryFormat.BLOCKS, BinaryFormat.ITEMS, BinaryFormat.ENTITY_TYPES);
+
+    private final Path path;
+
+    public BinarySink(Path path) {
+        this.path = path;
+    }
+
+    @Override
+    public Collection<String> requiredParts() {
+        return List.of("blockStateProperties", "blocks", "items", "entityTypes", "packets");
+    }
+
+    @Override
+    public void write(ExportModel model, Executor executor) throws IOException {
+        write(path, collect(model));
+    }
+
+    private static List<List<Object[]>> collect(ExportModel model) {
+        var tables = new ArrayList<List<Object[]>>();
+        for (int i = 0; i < BinaryFormat.SECTION_COUNT; i++) tables.add(new ArrayList<>());
+
+        for (var block : model.blocks()) {
+            var properties = tables.get(BinaryFormat.BLOCK_PROPERTIES);
+            tables.get(BinaryFormat.BLOCKS).add(new Object[]{
+                    block.name(),
+                    block.className(),
+                    block.defaultStateId(),
+                    block.stateCount(),
+                    properties.size(),
+                    block.properties().size()
+            });
+            for (var key : block.properties()) {
+                var property = model.blockStateProperties().get(key);
+                properties.add(new Object[]{
+                        property.name(),
+                        property.values().size()
+                });
+            }
+        }
+
+        for (var item : model.items()) {
+            tables.get(BinaryFormat.ITEMS).add(new Object[]{
+                    item.name(),
+                    item.className(),
+                    item.maxStackSize(),
+                    item.maxDamage()
+            });
+        }
+
+        for (var entityType : model.entityTypes()) {
+            tables.get(BinaryFormat.ENTITY_TYPES).add(new Object[]{
+                    entityType.name(),
+                    entityType.entityClass(),
+                    entityType.category(),
+                    entityType.width(),
+                    entityType.height(),
+                    entityType.clientTrackingRange()
+            });
+        }
+
+        for (var packet : model.packets()) {
+            tables.get(BinaryFormat.PACKETS).add(new Object[]{
+                    packet.protocol(),
+                    packet.flow(),
+                    packet.id(),
+                    packet.name()
+            });
+        }
+        return tables;
+    }
+
+    static void write(Path path, List<List<Object[]>> tables) throws IOException {
+        var strings = new TreeMap<byte[], Integer>(Arrays::compareUnsigned);
+        for (var table : tables) {
+            for (var record : table) {
+                for (var value : record) {
+                    if (value instanceof String string) strings.put(string.getBytes(StandardCharsets.UTF_8), 0);
+                }
+            }
+        }
+        int stringBytes = 0, stringIndex = 0;
+        for (var entry : strings.entrySet()) {
+            entry.setValue(stringIndex++);
+            stringBytes += entry.getKey().length;
+        }
+
+        int offset = BinaryFormat.HEADER_SIZE + BinaryFormat.SECTION_COUNT * BinaryFormat.SECTION_ENTRY_SIZE;
+        int size = offset + (strings.size() + 1) * 4 + stringBytes;
+        for (int id = 1; id < tables.size(); id++) {
+            var table = tables.get(id);
+            int recordSize = table.isEmpty() ? 0 : table.get(0).length * 4;
+            size += table.size() * recordSize;
+            if (INDEXED_TABLES.contains(id)) size += table.size() * 4;
+        }
+
+        var buffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(BinaryFormat.MAGIC);
+        buffer.putInt(BinaryFormat.VERSION);
+        buffer.putInt(BinaryFormat.SECTION_COUNT);
+
+        buffer.position(offset);
+        putSectionEntry(buffer, BinaryFormat.STRINGS, offset, strings.size(), 4, 0);
+        int stringOffset = 0;
+        for (var string : strings.keySet()) {
+            buffer.putInt(stringOffset);
+            stringOffset += string.length;
+        }
+        buffer.putInt(stringOffset);
+        for (var string : strings.keySet()) buffer.put(string);
+
+        for (int id = 1; id < tables.size(); id++) {
+            var table = tables.get(id);
+            int recordSize = table.isEmpty() ? 0 : table.get(0).length * 4;
+            int tableOffset = buffer.position();
+            for (var record : table) {
+                for (var value : record) {
+                    if (value instanceof String string) buffer.putInt(strings.get(string.getBytes(StandardCharsets.UTF_8)));
+                    else if (value instanceof Float number) buffer.putFloat(number);
+                    else buffer.putInt((Integer) value);
+                }
+            }
+            int indexOffset = 0;
+            if (INDEXED_TABLES.contains(id)) {
+                indexOffset = buffer.position();
+                var names = new int[table.size()];
+                for (int i = 0; i < table.size(); i++) names[i] = buffer.getInt(tableOffset + i * recordSize);
+                var index = new ArrayList<Integer>();
+                for (int i = 0; i < table.size(); i++) index.add(i);
+                index.sort(Comparator.comparingInt(i -> names[i]));
+                for (int i : index) buffer.putInt(i);
+            }
+            putSectionEntry(buffer, id, tableOffset, table.size(), recordSize, indexOffset);
+        }
+
+        // Readers keep the file memory-mapped, so it is replaced by a rename instead of being truncated under them.
+        buffer.flip();
+        var temp = DataExporter.tempSibling(path, "tmp");
+        try {
+            try (var channel = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining()) channel.write(buffer);
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        LOGGER.info("exported {} strings and {} records to {}", strings.size(),
+                tables.stream().mapToInt(List::size).sum(), path);
+    }
+
+    private static void putSectionEntry(ByteBuffer buffer, int id, int offset, int count, int recordSize, int indexOffset) {
+        int entry = BinaryFormat.HEADER_SIZE + id * BinaryFormat.SECTION_ENTRY_SIZE;
+        buffer.putInt(entry, id);
+        buffer.putInt(entry + 4, offset);
+        buffer.putInt(entry + 8, count);
+        buffer.putInt(entry + 12, recordSize);
+        buffer.putInt(entry + 16, indexOffset);
+    }
+}
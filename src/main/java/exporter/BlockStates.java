@@ -0,0 +1,150 @@
+package exporter;
+
+import com.mojang.logging.LogUtils;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Registry;
+import net.minecraft.world.level.EmptyBlockGetter;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.block.state.properties.Property;
+import net.minecraft.world.phys.AABB;
+import net.minecraft.world.phys.Vec3;
+import net.minecraft.world.phys.shapes.VoxelShape;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class BlockStates {
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final Map<Property<?>, List<?>> valuesByProperty = new ConcurrentHashMap<>();
+
+    static ExportModel.BlockStateTable collectBlockStates() {
+        int count = Block.BLOCK_STATE_REGISTRY.size();
+        var blocks = new int[count];
+        var properties = new int[count];
+        for (int id = 0; id < count; id++) {
+            var state = Block.BLOCK_STATE_REGISTRY.byId(id);
+            blocks[id] = Registry.BLOCK.getId(state.getBlock());
+            properties[id] = packProperties(state);
+        }
+        LOGGER.info("collected {} block states", count);
+        return new ExportModel.BlockStateTable(blocks, properties);
+    }
+
+    static ExportModel.StateTransitionTable collectStateTransitions() {
+        int count = Block.BLOCK_STATE_REGISTRY.size();
+        var offsets = new int[count + 1];
+        var targets = new int[1 << 16];
+        int size = 0;
+        for (int id = 0; id < count; id++) {
+            offsets[id] = size;
+            var state = Block.BLOCK_STATE_REGISTRY.byId(id);
+            for (var property : state.getProperties()) {
+                for (var value : values(property)) {
+                    if (size == targets.length) targets = Arrays.copyOf(targets, size * 2);
+                    targets[size++] = Block.getId(withValue(state, property, value));
+                }
+            }
+        }
+        offsets[count] = size;
+        LOGGER.info("collected {} block state transitions", size);
+        return new ExportModel.StateTransitionTable(offsets, Arrays.copyOf(targets, size));
+    }
+
+    private static <T extends Comparable<T>> BlockState withValue(BlockState state, Property<T> property, Object value) {
+        return state.setValue(property, property.getValueClass().cast(value));
+    }
+
+    static ExportModel.ShapeTable collectBlockShapes() {
+        int count = Block.BLOCK_STATE_REGISTRY.size();
+        var shapes = new LinkedHashMap<List<AABB>, Integer>();
+        var collision = new int[count];
+        var outline = new int[count];
+        var occlusion = new int[count];
+        for (int id = 0; id < count; id++) {
+            var state = Block.BLOCK_STATE_REGISTRY.byId(id);
+            // Blocks with an offset type are shifted by a position-dependent offset, which is moved back out so the
+            // table holds the unshifted shapes.
+            var offset = state.getOffset(EmptyBlockGetter.INSTANCE, BlockPos.ZERO);
+            collision[id] = internShape(shapes, state.getCollisionShape(EmptyBlockGetter.INSTANCE, BlockPos.ZERO), offset);
+            outline[id] = internShape(shapes, state.getShape(EmptyBlockGetter.INSTANCE, BlockPos.ZERO), offset);
+            occlusion[id] = internShape(shapes, state.getOcclusionShape(EmptyBlockGetter.INSTANCE, BlockPos.ZERO), offset);
+        }
+        var shapeList = new ArrayList<double[]>();
+        for (var boxes : shapes.keySet()) {
+            var coordinates = new double[boxes.size() * 6];
+            for (int i = 0; i < boxes.size(); i++) {
+                var box = boxes.get(i);
+                coordinates[i * 6] = box.minX;
+                coordinates[i * 6 + 1] = box.minY;
+                coordinates[i * 6 + 2] = box.minZ;
+                coordinates[i * 6 + 3] = box.maxX;
+                coordinates[i * 6 + 4] = box.maxY;
+                coordinates[i * 6 + 5] = box.maxZ;
+            }
+            shapeList.add(coordinates);
+        }
+        LOGGER.info("collected {} distinct block shapes", shapes.size());
+        return new ExportModel.ShapeTable(shapeList, collision, outline, occlusion);
+    }
+
+    private static int internShape(Map<List<AABB>, Integer> shapes, VoxelShape shape, Vec3 offset) {
+        if (!shape.isEmpty() && !offset.equals(Vec3.ZERO)) shape = shape.move(-offset.x, -offset.y, -offset.z);
+        return shapes.computeIfAbsent(shape.toAabbs(), boxes -> shapes.size());
+    }
+
+    static int firstStateId(Block block) {
+        return Block.getId(block.getStateDefinition().getPossibleStates().get(0));
+    }
+
+    static int[] stateStrides(Block block) {
+        var properties = List.copyOf(block.getStateDefinition().getProperties());
+        var strides = new int[properties.size()];
+        int stride = 1;
+        for (int i = properties.size() - 1; i >= 0; i--) {
+            strides[i] = stride;
+            stride *= values(properties.get(i)).size();
+        }
+        return strides;
+    }
+
+    static void verifyStateIds(Block block, int firstStateId, int[] strides) {
+        var properties = List.copyOf(block.getStateDefinition().getProperties());
+        for (var state : block.getStateDefinition().getPossibleStates()) {
+            int id = firstStateId;
+            for (int i = 0; i < properties.size(); i++) {
+                var property = properties.get(i);
+                id += valueIndex(property, state.getValue(property)) * strides[i];
+            }
+            if (id != Block.getId(state))
+                throw new RuntimeException("Computed state ID " + id + " of " + state + " does not match " + Block.getId(state));
+        }
+    }
+
+    static int packProperties(BlockState state) {
+        int packed = 0, shift = 0;
+        for (var property : state.getProperties()) {
+            packed |= valueIndex(property, state.getValue(property)) << shift;
+            shift += bits(property);
+        }
+        if (shift > 32) throw new RuntimeException("Properties of " + state + " do not fit into 32 bits");
+        return packed;
+    }
+
+    static List<?> values(Property<?> property) {
+        return valuesByProperty.computeIfAbsent(property, p -> List.copyOf(p.getPossibleValues()));
+    }
+
+    static int valueIndex(Property<?> property, Object value) {
+        return values(property).indexOf(value);
+    }
+
+    static int bits(Property<?> property) {
+        return 32 - Integer.numberOfLeadingZeros(values(property).size() - 1);
+    }
+}
@@ -0,0 +1,145 @@
+package exporter;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.mojang.logging.LogUtils;
+import org.slf4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class ExportDaemon {
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final Gson GSON = new GsonBuilder()
+            .serializeNulls()
+            .disableHtmlEscaping()
+            .create();
+
+    private final Map<String, String> sections = new LinkedHashMap<>();
+    private final Map<String, Map<String, String>> entries = new ConcurrentHashMap<>();
+    private ServerSocketChannel server;
+
+    public static void run(Path socket, ExportModel model, List<String> sections, ExportOptions exportOptions,
+                           Executor executor) throws IOException {
+        var options = new ExportOptions();
+        options.compact = true;
+        options.namespaces = exportOptions.namespaces;
+        var daemon = new ExportDaemon();
+        var futures = new LinkedHashMap<String, CompletableFuture<String>>();
+        for (var section : sections) {
+            futures.put(section, CompletableFuture.supplyAsync(
+                    () -> new String(JsonSink.render(model, section, options), StandardCharsets.UTF_8), executor));
+        }
+        for (var entry : futures.entrySet()) daemon.sections.put(entry.getKey(), entry.getValue().join());
+        daemon.serve(socket);
+    }
+
+    private void serve(Path socket) throws IOException {
+        var clients = Executors.newCachedThreadPool();
+        Files.deleteIfExists(socket);
+        try (var server = ServerSocketChannel.open(StandardProtocolFamily.UNIX)) {
+            this.server = server;
+            server.bind(UnixDomainSocketAddress.of(socket));
+            LOGGER.info("listening on {}", socket);
+            while (true) {
+                var client = server.accept();
+                clients.execute(() -> handle(client));
+            }
+        } catch (ClosedChannelException e) {
+            LOGGER.info("daemon stopped");
+        } finally {
+            // Let connected clients finish the request they are on before interrupting them.
+            clients.shutdown();
+            try {
+                if (!clients.awaitTermination(5, TimeUnit.SECONDS)) clients.shutdownNow();
+            } catch (InterruptedException e) {
+                clients.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+            Files.deleteIfExists(socket);
+        }
+    }
+
+    private void handle(SocketChannel client) {
+        try (client;
+             var reader = new BufferedReader(new InputStreamReader(Channels.newInputStream(client), StandardCharsets.UTF_8));
+             var writer = new BufferedWriter(new OutputStreamWriter(Channels.newOutputStream(client), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                writer.write(query(line.trim()));
+                writer.write('\n');
+                writer.flush();
+                // The server is only closed once the reply to "stop" has been sent, since closing it shuts down this thread.
+                if (line.trim().equals("stop")) {
+                    server.close();
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.warn("client connection failed", e);
+        }
+    }
+
+    private String query(String request) {
+        var parts = request.split(" ", 2);
+        var command = parts[0];
+        var argument = parts.length > 1 ? parts[1] : null;
+        switch (command) {
+            case "sections":
+                return GSON.toJson(sections.keySet());
+            case "section":
+                var section = sections.get(argument);
+                return section != null ? section : error("unknown section " + argument);
+            case "stop":
+                return "{}";
+            default:
+                if (!sections.containsKey(command)) return error("unknown command " + command);
+                var entry = entries(command).get(argument);
+                return entry != null ? entry : error("no entry " + argument + " in " + command);
+        }
+    }
+
+    private Map<String, String> entries(String section) {
+        return entries.computeIfAbsent(section, name -> {
+            var index = new LinkedHashMap<String, String>();
+            var json = JsonParser.parseString(sections.get(name));
+            if (json.isJsonArray()) {
+                for (var element : json.getAsJsonArray()) {
+                    if (!element.isJsonObject() || !element.getAsJsonObject().has("name")) continue;
+                    index.put(element.getAsJsonObject().get("name").getAsString(), GSON.toJson(element));
+                }
+            } else if (json.isJsonObject()) {
+                for (var entry : json.getAsJsonObject().entrySet()) index.put(entry.getKey(), GSON.toJson(entry.getValue()));
+            }
+            return index;
+        });
+    }
+
+    private static String error(String message) {
+        var json = new JsonObject();
+        json.addProperty("error", message);
+        return GSON.toJson(json);
+    }
+}
@@ -0,0 +1,76 @@
+package exporter;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+
+// Parts that were not collected, because neither a selected section nor a sink needs them, are null.
+public record ExportModel(
+        Map<String, PropertyInfo> blockStateProperties,
+        List<BlockInfo> blocks,
+        BlockStateTable blockStates,
+        StateTransitionTable blockStateTransitions,
+        ShapeTable blockShapes,
+        List<ClassInfo> blockClasses,
+        List<ItemInfo> items,
+        List<ClassInfo> itemClasses,
+        List<EntityTypeInfo> entityTypes,
+        List<ClassInfo> entityClasses,
+        List<RegistryTags> tags,
+        List<NameHash> nameHashes,
+        List<PacketInfo> packets,
+        Map<String, PacketSchema> packetSchemas,
+        List<EnumClassInfo> enumClasses
+) implements Serializable {
+    // values is in the property's possible-value order, which value indices and state IDs follow. For enum properties
+    // this can differ from the constant order, e.g. FACING lists the horizontal directions before up and down.
+    public record PropertyInfo(String name, String type, String enumClass, List<String> values, int min, int max)
+            implements Serializable {
+    }
+
+    public record BlockInfo(String name, int id, String className, List<String> properties, Map<String, Object> defaultState,
+                            int defaultStateId, int firstStateId, int stateCount, int[] stateStrides, String offsetType,
+                            float maxHorizontalOffset, float maxVerticalOffset) implements Serializable {
+    }
+
+    public record BlockStateTable(int[] blocks, int[] properties) implements Serializable {
+    }
+
+    // The targets of state ID s start at offsets[s]: for each property of its block in order, the state ID for each value.
+    public record StateTransitionTable(int[] offsets, int[] targets) implements Serializable {
+    }
+
+    // Every shape is a flat list of boxes, six coordinates (minX, minY, minZ, maxX, maxY, maxZ) per box.
+    public record ShapeTable(List<double[]> shapes, int[] collision, int[] outline, int[] occlusion) implements Serializable {
+    }
+
+    public record ClassInfo(String name, String superclass, Map<String, String> properties) implements Serializable {
+    }
+
+    public record ItemInfo(String name, int id, String className, String category, String rarity, int maxStackSize,
+                           int maxDamage, boolean fireResistant, String craftingRemainingItem) implements Serializable {
+    }
+
+    public record EntityTypeInfo(String name, int id, String entityClass, String category, List<String> immuneTo,
+                                 boolean canSerialize, boolean canSummon, boolean fireImmune, boolean canSpawnFarFromPlayer,
+                                 int clientTrackingRange, float width, float height) implements Serializable {
+    }
+
+    public record RegistryTags(String registry, int size, Map<String, byte[]> tags) implements Serializable {
+    }
+
+    public record NameHash(String registry, int[] displacements, int[] ids) implements Serializable {
+    }
+
+    public record PacketInfo(String protocol, String flow, int id, String name) implements Serializable {
+    }
+
+    public record PacketSchema(List<PacketField> read, List<PacketField> write) implements Serializable {
+    }
+
+    public record PacketField(String type, String method) implements Serializable {
+    }
+
+    public record EnumClassInfo(String name, List<String> constants) implements Serializable {
+    }
+}
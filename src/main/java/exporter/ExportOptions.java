@@ -0,0 +1,74 @@
+package exporter;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+public class ExportOptions {
+    public Set<Format> formats = EnumSet.of(Format.JSON);
+    public String javaPackage = "minecraft.data";
+    public boolean compact = false;
+    public boolean sharded = false;
+    public Compression compression = Compression.NONE;
+    public Set<String> sections = null;
+    public Set<String> namespaces = null;
+    public Path daemonSocket = null;
+    public boolean snapshot = true;
+    public int threads = Runtime.getRuntime().availableProcessors();
+
+    public static ExportOptions parse(String[] args) {
+        var options = new ExportOptions();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--format" -> options.formats = formats(value(args, ++i));
+                case "--package" -> options.javaPackage = value(args, ++i);
+                case "--compact" -> options.compact = true;
+                case "--sharded" -> options.sharded = true;
+                case "--compression" -> options.compression = Compression.valueOf(value(args, ++i).toUpperCase(Locale.ROOT));
+                case "--sections" -> options.sections = list(value(args, ++i));
+                case "--namespace" -> options.namespaces = list(value(args, ++i));
+                case "--daemon" -> options.daemonSocket = Path.of(value(args, ++i));
+                case "--no-snapshot" -> options.snapshot = false;
+                case "--threads" -> options.threads = Integer.parseInt(value(args, ++i));
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        return options;
+    }
+
+    private static Set<String> list(String value) {
+        return new LinkedHashSet<>(Arrays.asList(value.split(",")));
+    }
+
+    private static Set<Format> formats(String value) {
+        var formats = EnumSet.noneOf(Format.class);
+        for (var format : list(value)) formats.add(Format.valueOf(format.toUpperCase(Locale.ROOT)));
+        return formats;
+    }
+
+    private static String value(String[] args, int i) {
+        if (i >= args.length) throw new IllegalArgumentException("Missing value for option " + args[i - 1]);
+        return args[i];
+    }
+
+    public enum Format {
+        JSON,
+        BINARY,
+        JAVA
+    }
+
+    public enum Compression {
+        NONE(""),
+        GZIP(".gz"),
+        DEFLATE(".deflate");
+
+        public final String extension;
+
+        Compression(String extension) {
+            this.extension = extension;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package exporter;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+public record ExportSection(String name, List<String> dependencies, Collector collector) {
+    // Most sections are collected on a single thread and have no use for the executor.
+    public ExportSection(String name, List<String> dependencies, Supplier<Object> collector) {
+        this(name, dependencies, executor -> collector.get());
+    }
+
+    public interface Collector {
+        Object collect(Executor executor);
+    }
+}
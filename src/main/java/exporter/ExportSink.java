@@ -0,0 +1,11 @@
+package exporter;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.concurrent.Executor;
+
+public interface ExportSink {
+    Collection<String> requiredParts();
+
+    void write(ExportModel model, Executor executor) throws IOException;
+}
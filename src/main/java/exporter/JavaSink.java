@@ -0,0 +1,217 @@
+package exporter;
+
+import com.mojang.logging.LogUtils;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.Executor;
+
+public class JavaSink implements ExportSink {
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final int ARRAY_CHUNK_SIZE = 2048;
+    private static final int SWITCH_CHUNK_SIZE = 512;
+
+    private final Path directory;
+    private final String packageName;
+
+    public JavaSink(Path directory, String packageName) {
+        this.directory = directory;
+        this.packageName = packageName;
+    }
+
+    @Override
+    public Collection<String> requiredParts() {
+        return List.of("blocks", "blockStates", "packets");
+    }
+
+    @Override
+    public void write(ExportModel model, Executor executor) throws IOException {
+        for (int i = 0; i < model.blocks().size(); i++) {
+            if (model.blocks().get(i).id() != i) throw new RuntimeException("Blocks are not ordered by ID at " + model.blocks().get(i).name());
+        }
+        var packageDirectory = directory.resolve(packageName.replace('.', '/'));
+        Files.createDirectories(packageDirectory);
+        Files.writeString(packageDirectory.resolve("PacketIds.java"), packetIds(model.packets()));
+        Files.writeString(packageDirectory.resolve("BlockStateIds.java"), blockStateIds(model.blocks(), model.blockStates()));
+        LOGGER.info("generated Java sources in {}", packageDirectory);
+    }
+
+    private String packetIds(List<ExportModel.PacketInfo> packets) {
+        var source = header("PacketIds");
+        var byProtocol = new LinkedHashMap<String, Map<String, List<ExportModel.PacketInfo>>>();
+        for (var packet : packets) {
+            byProtocol.computeIfAbsent(packet.protocol(), protocol -> new LinkedHashMap<>())
+                    .computeIfAbsent(packet.flow(), flow -> new ArrayList<>())
+                    .add(packet);
+        }
+        for (var protocol : byProtocol.entrySet()) {
+            var protocolName = className(protocol.getKey());
+            source.append("\n    public static final class ").append(protocolName).append(" {\n");
+            source.append("        private ").append(protocolName).append("() {\n        }\n");
+            for (var flow : protocol.getValue().entrySet()) {
+                var flowName = className(flow.getKey());
+                source.append("\n        public static final class ").append(flowName).append(" {\n");
+                var names = new HashSet<String>();
+                for (var packet : flow.getValue()) {
+                    var name = constantName(packet.name(), flowName);
+                    if (!names.add(name)) name += "_" + packet.id();
+                    source.append("            public static final int ").append(name).append(" = 0x")
+                            .append(String.format("%02X", packet.id())).append(";\n");
+                }
+                source.append("\n            private ").append(flowName).append("() {\n            }\n");
+                source.append("        }\n");
+            }
+            source.append("    }\n");
+        }
+        source.append("\n    private PacketIds() {\n    }\n}\n");
+        return source.toString();
+    }
+
+    private String blockStateIds(List<ExportModel.BlockInfo> blocks, ExportModel.BlockStateTable blockStates) {
+        var source = header("BlockStateIds");
+        int stateCount = blockStates.blocks().length;
+
+        var firstStateIds = new int[blocks.size() + 1];
+        var propertyOffsets = new int[blocks.size() + 1];
+        var strides = new ArrayList<Integer>();
+        for (int i = 0; i < blocks.size(); i++) {
+            firstStateIds[i] = blocks.get(i).firstStateId();
+            propertyOffsets[i] = strides.size();
+            for (var stride : blocks.get(i).stateStrides()) strides.add(stride);
+        }
+        firstStateIds[blocks.size()] = stateCount;
+        propertyOffsets[blocks.size()] = strides.size();
+        var stateBlocks = blockStates.blocks();
+        var stateProperties = blockStates.properties();
+
+        source.append("    public static final int BLOCK_COUNT = ").append(blocks.size()).append(";\n");
+        source.append("    public static final int STATE_COUNT = ").append(stateCount).append(";\n\n");
+        var arrays = new ArrayList<String>();
+        intArray(source, arrays, "FIRST_STATE_ID", firstStateIds);
+        intArray(source, arrays, "PROPERTY_OFFSET", propertyOffsets);
+        intArray(source, arrays, "STATE_STRIDE", strides.stream().mapToInt(Integer::intValue).toArray());
+        intArray(source, arrays, "STATE_BLOCK", stateBlocks);
+        intArray(source, arrays, "STATE_PROPERTIES", stateProperties);
+
+        source.append("""
+
+                    public static int firstStateId(int block) {
+                        return FIRST_STATE_ID[block];
+                    }
+
+                    public static int stateCount(int block) {
+                        return FIRST_STATE_ID[block + 1] - FIRST_STATE_ID[block];
+                    }
+
+                    public static int blockOf(int stateId) {
+                        return STATE_BLOCK[stateId];
+                    }
+
+                    public static int packedProperties(int stateId) {
+                        return STATE_PROPERTIES[stateId];
+                    }
+
+                    public static int stateId(int block, int[] valueIndices) {
+                        int id = FIRST_STATE_ID[block];
+                        for (int i = 0; i < valueIndices.length; i++) id += valueIndices[i] * STATE_STRIDE[PROPERTY_OFFSET[block] + i];
+                        return id;
+                    }
+                """);
+        stateIdOverloads(source, blocks.stream().mapToInt(block -> block.stateStrides().length).max().orElse(0));
+        source.append("\n    public static int blockId(String name) {\n");
+        var chunks = chunks(blocks.size(), SWITCH_CHUNK_SIZE);
+        for (int chunk = 0; chunk < chunks.size(); chunk++) {
+            source.append("        int id").append(chunk).append(" = blockId").append(chunk).append("(name);\n");
+            source.append("        if (id").append(chunk).append(" >= 0) return id").append(chunk).append(";\n");
+        }
+        source.append("        return -1;\n    }\n");
+        for (int chunk = 0; chunk < chunks.size(); chunk++) {
+            source.append("\n    private static int blockId").append(chunk).append("(String name) {\n");
+            source.append("        switch (name) {\n");
+            for (int i = chunks.get(chunk)[0]; i < chunks.get(chunk)[1]; i++) {
+                source.append("            case \"").append(blocks.get(i).name()).append("\": return ").append(i).append(";\n");
+            }
+            source.append("            default: return -1;\n        }\n    }\n");
+        }
+        for (var array : arrays) source.append(array);
+        source.append("\n    private BlockStateIds() {\n    }\n}\n");
+        return source.toString();
+    }
+
+    // Fixed-arity forms of stateId for up to the largest property count, so callers do not allocate a varargs array.
+    private static void stateIdOverloads(StringBuilder source, int maxProperties) {
+        for (int count = 0; count <= maxProperties; count++) {
+            source.append("\n    public static int stateId(int block");
+            for (int i = 0; i < count; i++) source.append(", int v").append(i);
+            source.append(") {\n");
+            if (count > 0) source.append("        int offset = PROPERTY_OFFSET[block];\n");
+            source.append("        return FIRST_STATE_ID[block]");
+            for (int i = 0; i < count; i++) {
+                source.append(" + v").append(i).append(" * STATE_STRIDE[offset");
+                if (i > 0) source.append(" + ").append(i);
+                source.append(']');
+            }
+            source.append(";\n    }\n");
+        }
+    }
+
+    private StringBuilder header(String className) {
+        var source = new StringBuilder();
+        source.append("// Generated by minecraft-data-exporter, do not edit.\n");
+        source.append("package ").append(packageName).append(";\n\n");
+        source.append("public final class ").append(className).append(" {\n");
+        return source;
+    }
+
+    // Large array initializers and switches are split into separate methods to stay below the 64 KiB method size limit.
+    private static void intArray(StringBuilder source, List<String> fillMethods, String name, int[] values) {
+        var methodName = "fill" + className(name);
+        source.append("    private static final int[] ").append(name).append(" = ").append(methodName).append("();\n");
+        var method = new StringBuilder();
+        method.append("\n    private static int[] ").append(methodName).append("() {\n");
+        method.append("        var values = new int[").append(values.length).append("];\n");
+        var chunks = chunks(values.length, ARRAY_CHUNK_SIZE);
+        for (int chunk = 0; chunk < chunks.size(); chunk++) {
+            method.append("        ").append(methodName).append(chunk).append("(values);\n");
+        }
+        method.append("        return values;\n    }\n");
+        for (int chunk = 0; chunk < chunks.size(); chunk++) {
+            int start = chunks.get(chunk)[0], end = chunks.get(chunk)[1];
+            method.append("\n    private static void ").append(methodName).append(chunk).append("(int[] values) {\n");
+            method.append("        int[] chunk = {");
+            for (int i = start; i < end; i++) {
+                if (i > start) method.append(i % 32 == 0 ? ",\n                " : ", ");
+                method.append(values[i]);
+            }
+            method.append("};\n");
+            method.append("        System.arraycopy(chunk, 0, values, ").append(start).append(", chunk.length);\n    }\n");
+        }
+        fillMethods.add(method.toString());
+    }
+
+    private static List<int[]> chunks(int length, int size) {
+        var chunks = new ArrayList<int[]>();
+        for (int start = 0; start < length; start += size) chunks.add(new int[]{start, Math.min(length, start + size)});
+        return chunks;
+    }
+
+    private static String className(String name) {
+        var builder = new StringBuilder();
+        for (var part : name.toLowerCase().split("_")) {
+            if (part.isEmpty()) continue;
+            builder.append(Character.toUpperCase(part.charAt(0))).append(part.substring(1));
+        }
+        return builder.toString();
+    }
+
+    private static String constantName(String packetClassName, String flowName) {
+        var name = packetClassName;
+        if (name.startsWith(flowName)) name = name.substring(flowName.length());
+        name = name.replace("Packet.", "_").replace(".", "_");
+        if (name.endsWith("Packet")) name = name.substring(0, name.length() - "Packet".length());
+        return name.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase();
+    }
+}
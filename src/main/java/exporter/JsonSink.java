@@ -0,0 +1,392 @@
+package exporter;
+
+import com.google.gson.stream.JsonWriter;
+import com.mojang.logging.LogUtils;
+import org.slf4j.Logger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+
+public class JsonSink implements ExportSink {
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    private final Path directory;
+    private final ExportOptions options;
+    private final List<String> sections;
+
+    public JsonSink(Path directory, ExportOptions options, List<String> sections) {
+        this.directory = directory;
+        this.options = options;
+        this.sections = sections;
+    }
+
+    @Override
+    public Collection<String> requiredParts() {
+        return sections;
+    }
+
+    // Sections are encoded straight into the output instead of being rendered into memory first, so the heap only holds
+    // the model and the writer buffers however large the export gets.
+    @Override
+    public void write(ExportModel model, Executor executor) throws IOException {
+        if (options.sharded) {
+            ShardWriter.write(directory.resolve("export"), sections, (section, out) -> encode(model, section, out), options, executor);
+        } else {
+            writeExport(directory.resolve("export.json" + options.compression.extension), model);
+        }
+    }
+
+    // When the previous manifest covers every section, the sections are first only hashed and an unchanged export
+    // keeps its file without being written again. Otherwise the export is written next to the previous one and moved
+    // into place.
+    private void writeExport(Path path, ExportModel model) throws IOException {
+        var manifestPath = directory.resolve("export.manifest.json");
+        var previous = Manifest.read(manifestPath);
+        var manifest = new Manifest(options);
+        if (Files.exists(path) && sections.stream().allMatch(name -> manifest.mayReuse(previous, name))) {
+            try (var ignored = Timings.phase("hash")) {
+                for (var name : sections) {
+                    var section = new SectionOutputStream(OutputStream.nullOutputStream(), false);
+                    encode(model, name, section);
+                    manifest.put(name, section.section());
+                }
+            }
+            if (manifest.isUnchanged(previous)) {
+                LOGGER.info("{} is up to date", path);
+                return;
+            }
+        }
+        var temp = DataExporter.tempSibling(path, "tmp");
+        try {
+            try (var ignored = Timings.phase("write"); var out = DataExporter.openOutput(temp, options)) {
+                out.write('{');
+                for (int i = 0; i < sections.size(); i++) {
+                    if (i > 0) out.write(',');
+                    var name = sections.get(i);
+                    out.write((options.compact ? "\"" + name + "\":" : "\n  \"" + name + "\": ").getBytes(StandardCharsets.UTF_8));
+                    var section = new SectionOutputStream(out, !options.compact);
+                    encode(model, name, section);
+                    manifest.put(name, section.section());
+                }
+                if (!options.compact && !sections.isEmpty()) out.write('\n');
+                out.write('}');
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        manifest.write(manifestPath);
+    }
+
+    private void encode(ExportModel model, String section, OutputStream out) throws IOException {
+        try (var ignored = Timings.phase("encode/" + section); var writer = DataExporter.createWriter(out, options)) {
+            encode(writer, model, section, options);
+        }
+    }
+
+    static byte[] render(ExportModel model, String section, ExportOptions options) {
+        var out = new ByteArrayOutputStream();
+        try (var writer = DataExporter.createWriter(out, options)) {
+            encode(writer, model, section, options);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static void encode(JsonWriter writer, ExportModel model, String section, ExportOptions options) throws IOException {
+        switch (section) {
+            case "blockStateProperties" -> writeBlockStateProperties(writer, model.blockStateProperties());
+            case "blocks" -> writeBlocks(writer, model.blocks(), options);
+            case "blockStates" -> writeBlockStates(writer, model.blockStates());
+            case "blockStateTransitions" -> writeStateTransitions(writer, model.blockStateTransitions());
+            case "blockShapes" -> writeBlockShapes(writer, model.blockShapes());
+            case "blockClasses" -> writeClasses(writer, includedClasses(model.blockClasses(), model.blocks().stream()
+                    .filter(block -> isIncluded(block.name(), options)).map(ExportModel.BlockInfo::className), options));
+            case "items" -> writeItems(writer, model.items(), options);
+            case "itemClasses" -> writeClasses(writer, includedClasses(model.itemClasses(), model.items().stream()
+                    .filter(item -> isIncluded(item.name(), options)).map(ExportModel.ItemInfo::className), options));
+            case "entityTypes" -> writeEntityTypes(writer, model.entityTypes(), options);
+            case "entityClasses" -> writeClasses(writer, includedClasses(model.entityClasses(), model.entityTypes().stream()
+                    .filter(type -> isIncluded(type.name(), options)).map(ExportModel.EntityTypeInfo::entityClass), options));
+            case "tags" -> writeTags(writer, model.tags());
+            case "nameHashes" -> writeNameHashes(writer, model.nameHashes());
+            case "packets" -> writePackets(writer, model.packets());
+            case "packetSchemas" -> PacketSchemas.writeSchemas(writer, model.packetSchemas());
+            case "enumClasses" -> writeEnumClasses(writer, model.enumClasses());
+            default -> throw new IllegalArgumentException("Unknown section: " + section);
+        }
+    }
+
+    private static boolean isIncluded(String name, ExportOptions options) {
+        return options.namespaces == null || options.namespaces.contains(name.substring(0, name.indexOf(':')));
+    }
+
+    // Keeps only the classes of included entries and their superclasses, in the order they were collected.
+    private static List<ExportModel.ClassInfo> includedClasses(List<ExportModel.ClassInfo> classes, Stream<String> used,
+                                                               ExportOptions options) {
+        if (options.namespaces == null) return classes;
+        var superclasses = new HashMap<String, String>();
+        for (var info : classes) superclasses.put(info.name(), info.superclass());
+        var included = new HashSet<String>();
+        used.forEach(name -> {
+            while (name != null && included.add(name)) name = superclasses.get(name);
+        });
+        return classes.stream().filter(info -> included.contains(info.name())).toList();
+    }
+
+    private static void writeBlockStateProperties(JsonWriter writer, Map<String, ExportModel.PropertyInfo> properties) throws IOException {
+        writer.beginObject();
+        for (var entry : properties.entrySet()) {
+            var property = entry.getValue();
+            writer.name(entry.getKey()).beginObject();
+            writer.name("name").value(property.name());
+            if ("boolean".equals(property.type())) {
+                writer.name("type").value("boolean");
+                writer.name("values").beginArray();
+                for (var value : property.values()) writer.value(Boolean.parseBoolean(value));
+                writer.endArray();
+            } else if ("enum".equals(property.type())) {
+                writer.name("type").value("enum");
+                writer.name("class").value(property.enumClass());
+                writer.name("values").beginArray();
+                for (var value : property.values()) writer.value(value);
+                writer.endArray();
+            } else if ("integer".equals(property.type())) {
+                writer.name("type").value("integer");
+                writer.name("min").value(property.min());
+                writer.name("max").value(property.max());
+            }
+            writer.endObject();
+        }
+        writer.endObject();
+    }
+
+    private static void writeBlocks(JsonWriter writer, List<ExportModel.BlockInfo> blocks, ExportOptions options) throws IOException {
+        writer.beginArray();
+        for (var block : blocks) {
+            if (!isIncluded(block.name(), options)) continue;
+            writer.beginObject();
+            writer.name("name").value(block.name());
+            writer.name("id").value(block.id());
+            writer.name("class").value(block.className());
+            if (!block.properties().isEmpty()) {
+                writer.name("properties").beginArray();
+                for (var property : block.properties()) writer.value(property);
+                writer.endArray();
+            }
+            writer.name("firstStateId").value(block.firstStateId());
+            if (!block.offsetType().equals("none")) {
+                writer.name("offsetType").value(block.offsetType());
+                writer.name("maxHorizontalOffset").value(Float.valueOf(block.maxHorizontalOffset()));
+                if (block.offsetType().equals("xyz")) writer.name("maxVerticalOffset").value(Float.valueOf(block.maxVerticalOffset()));
+            }
+            if (block.stateStrides().length > 0) {
+                writer.name("stateStrides").beginArray();
+                for (var stride : block.stateStrides()) writer.value(stride);
+                writer.endArray();
+            }
+            if (!block.defaultState().isEmpty()) {
+                writer.name("defaultState").beginObject();
+                for (var entry : block.defaultState().entrySet()) {
+                    writer.name(entry.getKey());
+                    if (entry.getValue() instanceof Boolean value) writer.value(value);
+                    else if (entry.getValue() instanceof Integer value) writer.value(value);
+                    else writer.value((String) entry.getValue());
+                }
+                writer.endObject();
+            }
+            writer.endObject();
+        }
+        writer.endArray();
+    }
+
+    private static void writeBlockStates(JsonWriter writer, ExportModel.BlockStateTable blockStates) throws IOException {
+        writer.beginObject();
+        writer.name("block");
+        writeIntArray(writer, blockStates.blocks());
+        writer.name("properties");
+        writeIntArray(writer, blockStates.properties());
+        writer.endObject();
+    }
+
+    private static void writeStateTransitions(JsonWriter writer, ExportModel.StateTransitionTable transitions) throws IOException {
+        writer.beginObject();
+        writer.name("offsets");
+        writeIntArray(writer, transitions.offsets());
+        writer.name("targets");
+        writeIntArray(writer, transitions.targets());
+        writer.endObject();
+    }
+
+    private static void writeBlockShapes(JsonWriter writer, ExportModel.ShapeTable blockShapes) throws IOException {
+        writer.beginObject();
+        writer.name("shapes").beginArray();
+        for (var coordinates : blockShapes.shapes()) {
+            var builder = new StringBuilder().append('[');
+            for (int i = 0; i < coordinates.length; i += 6) {
+                if (i > 0) builder.append(',');
+                builder.append('[').append(coordinates[i]);
+                for (int j = 1; j < 6; j++) builder.append(',').append(coordinates[i + j]);
+                builder.append(']');
+            }
+            writer.jsonValue(builder.append(']').toString());
+        }
+        writer.endArray();
+        writer.name("collision");
+        writeIntArray(writer, blockShapes.collision());
+        writer.name("outline");
+        writeIntArray(writer, blockShapes.outline());
+        writer.name("occlusion");
+        writeIntArray(writer, blockShapes.occlusion());
+        writer.endObject();
+    }
+
+    private static void writeClasses(JsonWriter writer, List<ExportModel.ClassInfo> classes) throws IOException {
+        writer.beginArray();
+        for (var info : classes) {
+            writer.beginObject();
+            writer.name("name").value(info.name());
+            if (info.superclass() != null) writer.name("extends").value(info.superclass());
+            if (!info.properties().isEmpty()) {
+                writer.name("properties").beginObject();
+                for (var entry : info.properties().entrySet()) writer.name(entry.getKey()).value(entry.getValue());
+                writer.endObject();
+            }
+            writer.endObject();
+        }
+        writer.endArray();
+    }
+
+    private static void writeItems(JsonWriter writer, List<ExportModel.ItemInfo> items, ExportOptions options) throws IOException {
+        writer.beginArray();
+        for (var item : items) {
+            if (!isIncluded(item.name(), options)) continue;
+            writer.beginObject();
+            writer.name("name").value(item.name());
+            writer.name("id").value(item.id());
+            writer.name("class").value(item.className());
+            if (item.category() != null) writer.name("category").value(item.category());
+            if (!item.rarity().equals("common")) writer.name("rarity").value(item.rarity());
+            if (item.maxStackSize() != 64) writer.name("maxStackSize").value(item.maxStackSize());
+            if (item.maxDamage() != 0) writer.name("maxDamage").value(item.maxDamage());
+            if (item.fireResistant()) writer.name("isFireResistant").value(true);
+            if (item.craftingRemainingItem() != null) writer.name("craftingRemainingItem").value(item.craftingRemainingItem());
+            writer.endObject();
+        }
+        writer.endArray();
+    }
+
+    private static void writeEntityTypes(JsonWriter writer, List<ExportModel.EntityTypeInfo> entityTypes, ExportOptions options) throws IOException {
+        writer.beginArray();
+        for (var entityType : entityTypes) {
+            if (!isIncluded(entityType.name(), options)) continue;
+            writer.beginObject();
+            writer.name("name").value(entityType.name());
+            writer.name("id").value(entityType.id());
+            writer.name("entityClass").value(entityType.entityClass());
+            writer.name("category").value(entityType.category());
+            if (!entityType.immuneTo().isEmpty()) {
+                writer.name("immuneTo").beginArray();
+                for (var block : entityType.immuneTo()) writer.value(block);
+                writer.endArray();
+            }
+            writer.name("canSerialize").value(entityType.canSerialize());
+            writer.name("canSummon").value(entityType.canSummon());
+            writer.name("fireImmune").value(entityType.fireImmune());
+            writer.name("canSpawnFarFromPlayer").value(entityType.canSpawnFarFromPlayer());
+            writer.name("clientTrackingRange").value(entityType.clientTrackingRange());
+            writer.name("width").value(Float.valueOf(entityType.width()));
+            writer.name("height").value(Float.valueOf(entityType.height()));
+            writer.endObject();
+        }
+        writer.endArray();
+    }
+
+    private static void writeTags(JsonWriter writer, List<ExportModel.RegistryTags> registries) throws IOException {
+        writer.beginObject();
+        for (var registry : registries) {
+            writer.name(registry.registry()).beginObject();
+            writer.name("size").value(registry.size());
+            writer.name("tags").beginObject();
+            for (var tag : registry.tags().entrySet()) {
+                writer.name(tag.getKey()).value(Base64.getEncoder().encodeToString(tag.getValue()));
+            }
+            writer.endObject();
+            writer.endObject();
+        }
+        writer.endObject();
+    }
+
+    private static void writeNameHashes(JsonWriter writer, List<ExportModel.NameHash> nameHashes) throws IOException {
+        writer.beginObject();
+        for (var nameHash : nameHashes) {
+            writer.name(nameHash.registry()).beginObject();
+            writer.name("displacements");
+            writeIntArray(writer, nameHash.displacements());
+            writer.name("ids");
+            writeIntArray(writer, nameHash.ids());
+            writer.endObject();
+        }
+        writer.endObject();
+    }
+
+    private static void writePackets(JsonWriter writer, List<ExportModel.PacketInfo> packets) throws IOException {
+        var byProtocol = new LinkedHashMap<String, Map<String, List<ExportModel.PacketInfo>>>();
+        for (var packet : packets) {
+            byProtocol.computeIfAbsent(packet.protocol(), protocol -> new LinkedHashMap<>())
+                    .computeIfAbsent(packet.flow(), flow -> new ArrayList<>())
+                    .add(packet);
+        }
+        writer.beginObject();
+        for (var protocol : byProtocol.entrySet()) {
+            writer.name(protocol.getKey()).beginObject();
+            for (var flow : protocol.getValue().entrySet()) {
+                writer.name(flow.getKey()).beginArray();
+                for (var packet : flow.getValue()) {
+                    writer.beginObject();
+                    writer.name("name").value(packet.name());
+                    writer.endObject();
+                }
+                writer.endArray();
+            }
+            writer.endObject();
+        }
+        writer.endObject();
+    }
+
+    private static void writeEnumClasses(JsonWriter writer, List<ExportModel.EnumClassInfo> enumClasses) throws IOException {
+        writer.beginArray();
+        for (var enumClass : enumClasses) {
+            writer.beginObject();
+            writer.name("name").value(enumClass.name());
+            writer.name("constants").beginArray();
+            for (var constant : enumClass.constants()) {
+                writer.beginObject();
+                writer.name("name").value(constant);
+                writer.endObject();
+            }
+            writer.endArray();
+            writer.endObject();
+        }
+        writer.endArray();
+    }
+
+    static void writeIntArray(JsonWriter writer, int[] values) throws IOException {
+        var builder = new StringBuilder(values.length * 4).append('[');
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) builder.append(',');
+            builder.append(values[i]);
+        }
+        writer.jsonValue(builder.append(']').toString());
+    }
+}
@@ -0,0 +1,80 @@
+package exporter;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+public class Manifest {
+    private static final Gson GSON = new GsonBuilder()
+            .setPrettyPrinting()
+            .disableHtmlEscaping()
+            .create();
+
+    private final String options;
+    private final Map<String, Section> sections = new ConcurrentSkipListMap<>();
+
+    public Manifest(ExportOptions options) {
+        this("compact=" + options.compact + ",compression=" + options.compression.name().toLowerCase());
+    }
+
+    private Manifest(String options) {
+        this.options = options;
+    }
+
+    public static Manifest read(Path path) {
+        if (!Files.exists(path)) return new Manifest("");
+        try (var reader = Files.newBufferedReader(path)) {
+            var json = JsonParser.parseReader(reader).getAsJsonObject();
+            var manifest = new Manifest(json.get("options").getAsString());
+            for (var entry : json.getAsJsonObject("sections").entrySet()) {
+                var section = entry.getValue().getAsJsonObject();
+                manifest.sections.put(entry.getKey(), new Section(section.get("sha256").getAsString(), section.get("size").getAsInt()));
+            }
+            return manifest;
+        } catch (IOException | RuntimeException e) {
+            return new Manifest("");
+        }
+    }
+
+    public void put(String name, Section section) {
+        sections.put(name, section);
+    }
+
+    // Whether the previous manifest has an entry this run's section could match, so hashing it first may save a write.
+    public boolean mayReuse(Manifest previous, String name) {
+        return options.equals(previous.options) && previous.sections.containsKey(name);
+    }
+
+    public boolean isUnchanged(Manifest previous, String name) {
+        return options.equals(previous.options) && Objects.equals(sections.get(name), previous.sections.get(name));
+    }
+
+    public boolean isUnchanged(Manifest previous) {
+        return options.equals(previous.options) && sections.equals(previous.sections);
+    }
+
+    public void write(Path path) throws IOException {
+        var json = new JsonObject();
+        json.addProperty("options", options);
+        var sectionsJson = new JsonObject();
+        for (var entry : sections.entrySet()) {
+            var section = new JsonObject();
+            section.addProperty("sha256", entry.getValue().sha256());
+            section.addProperty("size", entry.getValue().size());
+            sectionsJson.add(entry.getKey(), section);
+        }
+        json.add("sections", sectionsJson);
+        Files.writeString(path, GSON.toJson(json));
+    }
+
+    public record Section(String sha256, int size) {
+    }
+}
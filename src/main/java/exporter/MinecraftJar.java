@@ -0,0 +1,33 @@
+package exporter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.JarURLConnection;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+public class MinecraftJar {
+    private static String hash;
+
+    public static synchronized String hash() throws IOException {
+        if (hash != null) return hash;
+        var resource = MinecraftJar.class.getClassLoader().getResource("net/minecraft/server/Bootstrap.class");
+        if (resource == null) throw new IOException("Minecraft is not on the classpath");
+        InputStream in;
+        if (resource.openConnection() instanceof JarURLConnection connection) {
+            in = connection.getJarFileURL().openStream();
+        } else {
+            in = resource.openStream();
+        }
+        try (var digest = new DigestInputStream(in, MessageDigest.getInstance("SHA-256"))) {
+            digest.transferTo(OutputStream.nullOutputStream());
+            hash = HexFormat.of().formatHex(digest.getMessageDigest().digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,270 @@
+package exporter;
+
+import com.mojang.logging.LogUtils;
+import net.minecraft.core.Registry;
+import net.minecraft.network.ConnectionProtocol;
+import net.minecraft.network.protocol.PacketFlow;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.block.state.properties.*;
+import org.slf4j.Logger;
+
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.ParameterizedType;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+public class ModelBuilder {
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    private static final VarHandle IMMUNE_TO = Reflection.instanceField(EntityType.class, "immuneTo");
+    static final List<ExportSection> SECTIONS = List.of(
+            new ExportSection("blockStateProperties", List.of(), ModelBuilder::collectBlockStateProperties),
+            new ExportSection("blocks", List.of("blockStateProperties"), ModelBuilder::collectBlocks),
+            new ExportSection("blockStates", List.of(), BlockStates::collectBlockStates),
+            new ExportSection("blockStateTransitions", List.of(), BlockStates::collectStateTransitions),
+            new ExportSection("blockShapes", List.of(), BlockStates::collectBlockShapes),
+            new ExportSection("blockClasses", List.of("blockStateProperties", "blocks"), ModelBuilder::collectBlockClasses),
+            new ExportSection("items", List.of(), ModelBuilder::collectItems),
+            new ExportSection("itemClasses", List.of("items"), ModelBuilder::collectItemClasses),
+            new ExportSection("entityTypes", List.of(), ModelBuilder::collectEntityTypes),
+            new ExportSection("entityClasses", List.of("entityTypes"), ModelBuilder::collectEntityClasses),
+            new ExportSection("tags", List.of(), Tags::collectTags),
+            new ExportSection("nameHashes", List.of(), NameHashes::collectNameHashes),
+            new ExportSection("packets", List.of(), ModelBuilder::collectPackets),
+            new ExportSection("packetSchemas", List.of(), PacketSchemas::collectPacketSchemas),
+            new ExportSection("enumClasses", List.of("blockStateProperties"), ModelBuilder::collectEnumClasses)
+    );
+
+    private static final Map<Property<?>, String> blockStateProperties = new LinkedHashMap<>();
+    private static final Set<Class<?>> blockClasses = new LinkedHashSet<>();
+    private static final Set<Class<?>> itemClasses = new LinkedHashSet<>();
+    private static final Set<Class<?>> entityClasses = new LinkedHashSet<>();
+    private static final Set<Class<?>> enumClasses = new LinkedHashSet<>();
+
+    public static ExportModel build(Collection<String> parts, Executor executor) {
+        var futures = new SectionScheduler(executor).schedule(SECTIONS, select(parts));
+        return new ExportModel(
+                part(futures.get("blockStateProperties")),
+                part(futures.get("blocks")),
+                part(futures.get("blockStates")),
+                part(futures.get("blockStateTransitions")),
+                part(futures.get("blockShapes")),
+                part(futures.get("blockClasses")),
+                part(futures.get("items")),
+                part(futures.get("itemClasses")),
+                part(futures.get("entityTypes")),
+                part(futures.get("entityClasses")),
+                part(futures.get("tags")),
+                part(futures.get("nameHashes")),
+                part(futures.get("packets")),
+                part(futures.get("packetSchemas")),
+                part(futures.get("enumClasses"))
+        );
+    }
+
+    static List<ExportSection> select(Collection<String> names) {
+        var known = SECTIONS.stream().map(ExportSection::name).toList();
+        for (var name : names) {
+            if (!known.contains(name)) throw new IllegalArgumentException("Unknown section: " + name);
+        }
+        return SECTIONS.stream().filter(section -> names.contains(section.name())).toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T part(CompletableFuture<Object> future) {
+        return future != null ? (T) future.join() : null;
+    }
+
+    private static Map<String, ExportModel.PropertyInfo> collectBlockStateProperties() {
+        for (var field : Reflection.staticFields(BlockStateProperties.class)) {
+            if (!Property.class.isAssignableFrom(field.type())) continue;
+            blockStateProperties.put((Property<?>) field.get(), field.name());
+        }
+
+        var properties = new LinkedHashMap<String, ExportModel.PropertyInfo>();
+        for (var entry : blockStateProperties.entrySet()) {
+            properties.put(entry.getValue(), collectBlockStateProperty(entry.getKey()));
+        }
+        LOGGER.info("collected {} block state properties", properties.size());
+        return properties;
+    }
+
+    private static ExportModel.PropertyInfo collectBlockStateProperty(Property<?> property) {
+        var values = property.getPossibleValues().stream().map(value -> value instanceof Enum<?> e ? e.name() : value.toString()).toList();
+        if (property instanceof BooleanProperty) {
+            return new ExportModel.PropertyInfo(property.getName(), "boolean", null, values, 0, 0);
+        } else if (property instanceof EnumProperty) {
+            enumClasses.add(property.getValueClass());
+            return new ExportModel.PropertyInfo(property.getName(), "enum", DataExporter.getFullClassName(property.getValueClass()),
+                    values, 0, 0);
+        } else if (property instanceof IntegerProperty) {
+            var ints = property.getPossibleValues().stream().mapToInt(x -> (Integer) x).toArray();
+            return new ExportModel.PropertyInfo(property.getName(), "integer", null, values,
+                    Arrays.stream(ints).min().orElseThrow(), Arrays.stream(ints).max().orElseThrow());
+        }
+        return new ExportModel.PropertyInfo(property.getName(), null, null, values, 0, 0);
+    }
+
+    private static List<ExportModel.BlockInfo> collectBlocks() {
+        var blocks = new ArrayList<ExportModel.BlockInfo>();
+        int lastId = -1;
+        for (var block : Registry.BLOCK) {
+            var name = Registry.BLOCK.getKey(block);
+            var id = Registry.BLOCK.getId(block);
+            if (id != ++lastId) throw new RuntimeException("Blocks are not ordered by ID at " + name);
+            var properties = block.getStateDefinition().getProperties().stream().map(blockStateProperties::get).toList();
+            var firstStateId = BlockStates.firstStateId(block);
+            var stateStrides = BlockStates.stateStrides(block);
+            BlockStates.verifyStateIds(block, firstStateId, stateStrides);
+            blocks.add(new ExportModel.BlockInfo(name.toString(), id, block.getClass().getSimpleName(), properties,
+                    collectBlockState(block.defaultBlockState()), Block.getId(block.defaultBlockState()), firstStateId,
+                    block.getStateDefinition().getPossibleStates().size(), stateStrides,
+                    block.getOffsetType().name().toLowerCase(), block.getMaxHorizontalOffset(), block.getMaxVerticalOffset()));
+            collectClasses(blockClasses, Block.class, block.getClass());
+        }
+        LOGGER.info("collected {} blocks", blocks.size());
+        return blocks;
+    }
+
+    private static Map<String, Object> collectBlockState(BlockState blockState) {
+        var values = new LinkedHashMap<String, Object>();
+        for (var property : blockState.getProperties()) {
+            var value = blockState.getValue(property);
+            if (value == property.getPossibleValues().iterator().next()) continue;
+            if (property instanceof BooleanProperty || property instanceof IntegerProperty) {
+                values.put(blockStateProperties.get(property), value);
+            } else if (property instanceof EnumProperty) {
+                values.put(blockStateProperties.get(property), ((Enum<?>) value).name());
+            } else {
+                throw new RuntimeException("Unknown type of property");
+            }
+        }
+        return values;
+    }
+
+    private static List<ExportModel.ClassInfo> collectBlockClasses() {
+        var classes = new ArrayList<ExportModel.ClassInfo>();
+        for (var blockClass : blockClasses) {
+            var properties = new LinkedHashMap<String, String>();
+            for (var field : Reflection.staticFields(blockClass)) {
+                if (!Property.class.isAssignableFrom(field.type())) continue;
+                properties.put(field.name(), blockStateProperties.get((Property<?>) field.get()));
+            }
+            classes.add(new ExportModel.ClassInfo(blockClass.getSimpleName(), superclass(Block.class, blockClass), properties));
+        }
+        LOGGER.info("collected {} block classes", classes.size());
+        return classes;
+    }
+
+    private static List<ExportModel.ItemInfo> collectItems() {
+        var items = new ArrayList<ExportModel.ItemInfo>();
+        int lastId = -1;
+        for (var item : Registry.ITEM) {
+            var name = Registry.ITEM.getKey(item);
+            var id = Registry.ITEM.getId(item);
+            if (id != ++lastId) throw new RuntimeException("Items are not ordered by ID at " + name);
+            var category = item.getItemCategory();
+            var craftingRemainingItem = item.getCraftingRemainingItem();
+            items.add(new ExportModel.ItemInfo(name.toString(), id, item.getClass().getSimpleName(),
+                    category != null ? category.getId() : null,
+                    item.getRarity(item.getDefaultInstance()).name().toLowerCase(),
+                    item.getMaxStackSize(), item.getMaxDamage(), item.isFireResistant(),
+                    craftingRemainingItem != null ? Registry.ITEM.getKey(craftingRemainingItem).toString() : null));
+            collectClasses(itemClasses, Item.class, item.getClass());
+        }
+        LOGGER.info("collected {} items", items.size());
+        return items;
+    }
+
+    private static List<ExportModel.ClassInfo> collectItemClasses() {
+        var classes = itemClasses.stream()
+                .map(itemClass -> new ExportModel.ClassInfo(itemClass.getSimpleName(), superclass(Item.class, itemClass), Map.of()))
+                .toList();
+        LOGGER.info("collected {} item classes", classes.size());
+        return classes;
+    }
+
+    private static Map<EntityType<?>, Class<?>> collectEntityClassesByType() {
+        var entityClassesByType = new LinkedHashMap<EntityType<?>, Class<?>>();
+        for (var field : Reflection.staticFields(EntityType.class)) {
+            if (!EntityType.class.isAssignableFrom(field.type())) continue;
+            Class<?> entityClass = (Class<?>) ((ParameterizedType) field.genericType()).getActualTypeArguments()[0];
+            entityClassesByType.put((EntityType<?>) field.get(), entityClass);
+        }
+        return entityClassesByType;
+    }
+
+    private static List<ExportModel.EntityTypeInfo> collectEntityTypes() {
+        var entityClassesByType = collectEntityClassesByType();
+        var entityTypes = new ArrayList<ExportModel.EntityTypeInfo>();
+        int lastId = -1;
+        for (var entityType : Registry.ENTITY_TYPE) {
+            var name = Registry.ENTITY_TYPE.getKey(entityType);
+            var id = Registry.ENTITY_TYPE.getId(entityType);
+            if (id != ++lastId) throw new RuntimeException("Entity types are not ordered by ID at " + name);
+            var entityClass = entityClassesByType.get(entityType);
+            var immuneTo = ((Set<?>) IMMUNE_TO.get(entityType)).stream()
+                    .map(block -> Registry.BLOCK.getKey((Block) block).toString())
+                    .toList();
+            entityTypes.add(new ExportModel.EntityTypeInfo(name.toString(), id, entityClass.getSimpleName(),
+                    entityType.getCategory().name().toLowerCase(), immuneTo, entityType.canSerialize(),
+                    entityType.canSummon(), entityType.fireImmune(), entityType.canSpawnFarFromPlayer(),
+                    entityType.clientTrackingRange(), entityType.getWidth(), entityType.getHeight()));
+            collectClasses(entityClasses, Entity.class, entityClass);
+        }
+        LOGGER.info("collected {} entity types", entityTypes.size());
+        return entityTypes;
+    }
+
+    private static List<ExportModel.ClassInfo> collectEntityClasses() {
+        var classes = entityClasses.stream()
+                .map(entityClass -> new ExportModel.ClassInfo(entityClass.getSimpleName(), superclass(Entity.class, entityClass), Map.of()))
+                .toList();
+        LOGGER.info("collected {} entity classes", classes.size());
+        return classes;
+    }
+
+    private static List<ExportModel.PacketInfo> collectPackets() {
+        var packets = new ArrayList<ExportModel.PacketInfo>();
+        for (var protocol : ConnectionProtocol.values()) {
+            for (var flow : PacketFlow.values()) {
+                var packetsById = protocol.getPacketsByIds(flow);
+                for (int i = 0; i < packetsById.size(); i++) {
+                    packets.add(new ExportModel.PacketInfo(protocol.name().toLowerCase(), flow.name().toLowerCase(), i,
+                            DataExporter.getFullClassName(packetsById.get(i))));
+                }
+            }
+        }
+        return packets;
+    }
+
+    private static List<ExportModel.EnumClassInfo> collectEnumClasses() {
+        var classes = new ArrayList<ExportModel.EnumClassInfo>();
+        for (var enumClass : enumClasses) {
+            var constants = Arrays.stream(enumClass.getEnumConstants()).map(constant -> ((Enum<?>) constant).name()).toList();
+            classes.add(new ExportModel.EnumClassInfo(DataExporter.getFullClassName(enumClass), constants));
+        }
+        LOGGER.info("collected {} enum classes", classes.size());
+        return classes;
+    }
+
+    private static String superclass(Class<?> baseClass, Class<?> clazz) {
+        var superclass = clazz.getSuperclass();
+        return baseClass.isAssignableFrom(superclass) ? superclass.getSimpleName() : null;
+    }
+
+    static void collectClasses(Set<Class<?>> classes, Class<?> baseClass, Class<?> clazz) {
+        var classHierarchy = new ArrayList<Class<?>>();
+        while (baseClass.isAssignableFrom(clazz)) {
+            classHierarchy.add(clazz);
+            clazz = clazz.getSuperclass();
+        }
+        Collections.reverse(classHierarchy);
+        classes.addAll(classHierarchy);
+    }
+}
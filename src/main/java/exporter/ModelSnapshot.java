@@ -0,0 +1,92 @@
+package exporter;
+
+import com.mojang.logging.LogUtils;
+import exporter.reader.PerfectHash;
+import org.slf4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+public class ModelSnapshot {
+    private static final Logger LOGGER = LogUtils.getLogger();
+    // Snapshots are keyed by the Minecraft jar and by a hash of the exporter's and reader's classes, so a rebuilt
+    // exporter never loads a model collected by older code. VERSION only needs a bump when the key itself changes.
+    private static final int VERSION = 5;
+    private static final ObjectInputFilter FILTER = ObjectInputFilter.Config.createFilter("exporter.*;java.lang.*;java.util.*;!*");
+
+    private static String codeHash;
+
+    static Path path() throws IOException {
+        return Path.of(".cache", "model-" + VERSION + "-" + MinecraftJar.hash() + "-" + codeHash() + ".bin");
+    }
+
+    // Hashes the jars the exporter and the reader library run from, or every class file below their class directories
+    // when run from the build. The model depends on the reader's PerfectHash for the name hash tables.
+    private static synchronized String codeHash() throws IOException {
+        if (codeHash != null) return codeHash;
+        try {
+            var digest = MessageDigest.getInstance("SHA-256");
+            for (var type : new Class<?>[]{ModelSnapshot.class, PerfectHash.class}) {
+                var location = Path.of(type.getProtectionDomain().getCodeSource().getLocation().toURI());
+                digest.update(location.getFileName().toString().getBytes(StandardCharsets.UTF_8));
+                if (Files.isDirectory(location)) {
+                    try (var files = Files.walk(location)) {
+                        for (var file : files.filter(path -> path.toString().endsWith(".class")).sorted().toList()) {
+                            digest.update(location.relativize(file).toString().getBytes(StandardCharsets.UTF_8));
+                            digest.update(Files.readAllBytes(file));
+                        }
+                    }
+                } else {
+                    try (var in = new DigestInputStream(Files.newInputStream(location), digest)) {
+                        in.transferTo(OutputStream.nullOutputStream());
+                    }
+                }
+            }
+            codeHash = HexFormat.of().formatHex(digest.digest(), 0, 8);
+        } catch (NoSuchAlgorithmException | URISyntaxException e) {
+            throw new RuntimeException(e);
+        }
+        return codeHash;
+    }
+
+    static ExportModel read(Path path) {
+        if (!Files.exists(path)) return null;
+        try (var in = new ObjectInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+            in.setObjectInputFilter(FILTER);
+            var model = (ExportModel) in.readObject();
+            LOGGER.info("loaded model snapshot from {}", path);
+            return model;
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            LOGGER.warn("ignoring unreadable model snapshot {}", path, e);
+            return null;
+        }
+    }
+
+    static void write(Path path, ExportModel model) throws IOException {
+        Files.createDirectories(path.getParent());
+        var temp = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+        try {
+            try (var out = new ObjectOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+                out.writeObject(model);
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        LOGGER.info("wrote model snapshot to {}", path);
+    }
+}
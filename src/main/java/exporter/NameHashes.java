@@ -0,0 +1,104 @@
+package exporter;
+
+import com.mojang.logging.LogUtils;
+import exporter.reader.PerfectHash;
+import net.minecraft.core.Registry;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+public class NameHashes {
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final int MAX_DISPLACEMENT = 1 << 20;
+
+    static List<ExportModel.NameHash> collectNameHashes() {
+        return List.of(
+                collectNameHash(Registry.BLOCK),
+                collectNameHash(Registry.ITEM),
+                collectNameHash(Registry.ENTITY_TYPE)
+        );
+    }
+
+    private static <T> ExportModel.NameHash collectNameHash(Registry<T> registry) {
+        var names = new ArrayList<String>();
+        for (var entry : registry) {
+            var id = registry.getId(entry);
+            if (id != names.size()) throw new RuntimeException("Registry " + registry.key() + " is not ordered by ID at " + id);
+            names.add(registry.getKey(entry).toString());
+        }
+        var name = registry.key().location().getPath();
+        var hash = build(name, names);
+        LOGGER.info("collected {} name hash over {} names with {} buckets", name, names.size(), hash.displacements().length);
+        return hash;
+    }
+
+    static ExportModel.NameHash build(String registry, List<String> names) {
+        for (int buckets = Math.max(1, (names.size() + 1) / 2); ; buckets *= 2) {
+            var hash = tryBuild(registry, names, buckets);
+            if (hash != null) return hash;
+        }
+    }
+
+    // Places the largest buckets first while most slots are still free, then fills the remaining free slots with the
+    // single-name buckets directly.
+    private static ExportModel.NameHash tryBuild(String registry, List<String> names, int bucketCount) {
+        int size = names.size();
+        var hashes = new long[size];
+        var buckets = new ArrayList<List<Integer>>();
+        for (int i = 0; i < bucketCount; i++) buckets.add(new ArrayList<>());
+        for (int id = 0; id < size; id++) {
+            hashes[id] = PerfectHash.hash(names.get(id));
+            buckets.get(PerfectHash.bucket(hashes[id], bucketCount)).add(id);
+        }
+        var order = new ArrayList<Integer>();
+        for (int i = 0; i < bucketCount; i++) order.add(i);
+        order.sort(Comparator.comparingInt((Integer bucket) -> buckets.get(bucket).size()).reversed());
+
+        var displacements = new int[bucketCount];
+        var ids = new int[size];
+        var taken = new boolean[size];
+        var slots = new int[size];
+        int freeSlot = 0;
+        for (int bucket : order) {
+            var members = buckets.get(bucket);
+            if (members.isEmpty()) break;
+            if (members.size() == 1) {
+                while (taken[freeSlot]) freeSlot++;
+                taken[freeSlot] = true;
+                ids[freeSlot] = members.get(0);
+                displacements[bucket] = -freeSlot - 1;
+                continue;
+            }
+            int displacement = 0;
+            while (!place(members, hashes, displacement, taken, slots)) {
+                if (++displacement == MAX_DISPLACEMENT) return null;
+            }
+            for (int i = 0; i < members.size(); i++) {
+                taken[slots[i]] = true;
+                ids[slots[i]] = members.get(i);
+            }
+            displacements[bucket] = displacement;
+        }
+
+        var hash = new ExportModel.NameHash(registry, displacements, ids);
+        var reader = new PerfectHash(displacements, ids);
+        for (int id = 0; id < size; id++) {
+            if (reader.id(names.get(id)) != id) throw new RuntimeException("Name hash of " + registry + " is broken at " + names.get(id));
+        }
+        return hash;
+    }
+
+    private static boolean place(List<Integer> members, long[] hashes, int displacement, boolean[] taken, int[] slots) {
+        for (int i = 0; i < members.size(); i++) {
+            int slot = PerfectHash.slot(hashes[members.get(i)], displacement, taken.length);
+            if (taken[slot]) return false;
+            for (int j = 0; j < i; j++) {
+                if (slots[j] == slot) return false;
+            }
+            slots[i] = slot;
+        }
+        return true;
+    }
+}
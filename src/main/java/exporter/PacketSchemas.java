@@ -0,0 +1,118 @@
+package exporter;
+
+import com.google.gson.stream.JsonWriter;
+import com.mojang.logging.LogUtils;
+import net.minecraft.network.ConnectionProtocol;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.protocol.PacketFlow;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.MethodInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+public class PacketSchemas {
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final String BUF = Type.getInternalName(FriendlyByteBuf.class);
+    private static final String BUF_DESCRIPTOR = Type.getDescriptor(FriendlyByteBuf.class);
+    private static final String BYTE_BUF = "io/netty/buffer/ByteBuf";
+
+    // Each packet class is analyzed as its own task on the exporter pool. The result is not cached separately since it
+    // is part of the model snapshot.
+    static Map<String, ExportModel.PacketSchema> collectPacketSchemas(Executor executor) {
+        var packetClasses = new LinkedHashSet<Class<?>>();
+        for (var protocol : ConnectionProtocol.values()) {
+            for (var flow : PacketFlow.values()) {
+                var packetsById = protocol.getPacketsByIds(flow);
+                for (int i = 0; i < packetsById.size(); i++) packetClasses.add(packetsById.get(i));
+            }
+        }
+        var futures = new LinkedHashMap<String, CompletableFuture<ExportModel.PacketSchema>>();
+        for (var packetClass : packetClasses) {
+            futures.put(DataExporter.getFullClassName(packetClass), CompletableFuture.supplyAsync(() -> analyzePacket(packetClass), executor));
+        }
+        var schemas = new LinkedHashMap<String, ExportModel.PacketSchema>();
+        var unread = new ArrayList<String>();
+        for (var entry : futures.entrySet()) {
+            var schema = entry.getValue().join();
+            schemas.put(entry.getKey(), schema);
+            if (schema.read() == null) unread.add(entry.getKey());
+        }
+        if (!unread.isEmpty()) LOGGER.warn("found no read layout for {} packets: {}", unread.size(), unread);
+        LOGGER.info("collected {} packet schemas", schemas.size());
+        return schemas;
+    }
+
+    static void writeSchemas(JsonWriter writer, Map<String, ExportModel.PacketSchema> schemas) throws IOException {
+        writer.beginObject();
+        for (var entry : schemas.entrySet()) {
+            writer.name(entry.getKey()).beginObject();
+            writeFields(writer, "read", entry.getValue().read());
+            writeFields(writer, "write", entry.getValue().write());
+            writer.endObject();
+        }
+        writer.endObject();
+    }
+
+    private static void writeFields(JsonWriter writer, String name, List<ExportModel.PacketField> fields) throws IOException {
+        if (fields == null) return;
+        writer.name(name).beginArray();
+        for (var field : fields) {
+            writer.beginObject();
+            writer.name("type").value(field.type());
+            if (field.method() != null) writer.name("method").value(field.method());
+            writer.endObject();
+        }
+        writer.endArray();
+    }
+
+    private static ExportModel.PacketSchema analyzePacket(Class<?> packetClass) {
+        var classNode = new ClassNode();
+        var resource = Type.getInternalName(packetClass) + ".class";
+        try (var in = packetClass.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) throw new IOException("Could not find " + resource);
+            new ClassReader(in).accept(classNode, ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        // Packets without a FriendlyByteBuf constructor, like the nested ClientboundMoveEntityPacket classes, are read by
+        // a static factory such as Pos.read(FriendlyByteBuf) instead.
+        var factory = "(" + BUF_DESCRIPTOR + ")L" + classNode.name + ";";
+        List<ExportModel.PacketField> read = null, readFactory = null, write = null;
+        for (var method : classNode.methods) {
+            if (method.desc.equals(factory) && (method.access & Opcodes.ACC_STATIC) != 0) {
+                readFactory = analyzeMethod(method, "read");
+            }
+            if (!method.desc.equals("(" + BUF_DESCRIPTOR + ")V")) continue;
+            if (method.name.equals("<init>")) read = analyzeMethod(method, "read");
+            else if (method.name.equals("write")) write = analyzeMethod(method, "write");
+        }
+        return new ExportModel.PacketSchema(read != null ? read : readFactory, write);
+    }
+
+    private static List<ExportModel.PacketField> analyzeMethod(MethodNode method, String prefix) {
+        var fields = new ArrayList<ExportModel.PacketField>();
+        for (var instruction : method.instructions) {
+            if (!(instruction instanceof MethodInsnNode call)) continue;
+            if ((call.owner.equals(BUF) || call.owner.equals(BYTE_BUF)) && call.name.startsWith(prefix)
+                    && call.name.length() > prefix.length() && Character.isUpperCase(call.name.charAt(prefix.length()))) {
+                fields.add(new ExportModel.PacketField(call.name.substring(prefix.length()), null));
+            } else if (call.desc.contains(BUF_DESCRIPTOR) && !call.owner.equals(BUF)) {
+                fields.add(new ExportModel.PacketField("call", call.owner.substring(call.owner.lastIndexOf('/') + 1) + "." + call.name));
+            }
+        }
+        return List.copyOf(fields);
+    }
+}
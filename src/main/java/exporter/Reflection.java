@@ -0,0 +1,54 @@
+package exporter;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class Reflection {
+    private static final ClassValue<List<StaticField>> staticFields = new ClassValue<>() {
+        @Override
+        protected List<StaticField> computeValue(Class<?> owner) {
+            var fields = new ArrayList<StaticField>();
+            for (var field : owner.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) continue;
+                fields.add(new StaticField(field.getName(), field.getType(), field.getGenericType(), varHandle(owner, field)));
+            }
+            return List.copyOf(fields);
+        }
+    };
+    private static final Map<String, VarHandle> instanceFields = new ConcurrentHashMap<>();
+
+    public static List<StaticField> staticFields(Class<?> owner) {
+        return staticFields.get(owner);
+    }
+
+    public static VarHandle instanceField(Class<?> owner, String name) {
+        return instanceFields.computeIfAbsent(owner.getName() + "." + name, key -> {
+            try {
+                return varHandle(owner, owner.getDeclaredField(name));
+            } catch (NoSuchFieldException e) {
+                throw new RuntimeException(e);
+            }
+        });
+    }
+
+    private static VarHandle varHandle(Class<?> owner, Field field) {
+        try {
+            return MethodHandles.privateLookupIn(owner, MethodHandles.lookup()).unreflectVarHandle(field);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public record StaticField(String name, Class<?> type, Type genericType, VarHandle handle) {
+        public Object get() {
+            return handle.get();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package exporter;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+// Passes one section through to the export while hashing it for the manifest. The hash and size are taken over the
+// section as if it was written on its own, before indenting it to its place inside the single-file export. Closing
+// only flushes, so the JsonWriter of a section can be closed without closing the export.
+class SectionOutputStream extends FilterOutputStream {
+    private static final byte[] INDENT = "  ".getBytes(StandardCharsets.UTF_8);
+
+    private final MessageDigest digest;
+    private final boolean indent;
+    private int size;
+
+    SectionOutputStream(OutputStream out, boolean indent) {
+        super(out);
+        this.indent = indent;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        digest.update(bytes, offset, length);
+        size += length;
+        if (!indent) {
+            out.write(bytes, offset, length);
+            return;
+        }
+        int start = offset;
+        for (int i = offset; i < offset + length; i++) {
+            if (bytes[i] != '\n') continue;
+            out.write(bytes, start, i + 1 - start);
+            out.write(INDENT);
+            start = i + 1;
+        }
+        out.write(bytes, start, offset + length - start);
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+    }
+
+    Manifest.Section section() {
+        return new Manifest.Section(HexFormat.of().formatHex(digest.digest()), size);
+    }
+}
@@ -0,0 +1,47 @@
+package exporter;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+public class SectionScheduler {
+    private final Executor executor;
+    private final Map<String, ExportSection> sections = new LinkedHashMap<>();
+    private final Map<String, CompletableFuture<Object>> futures = new LinkedHashMap<>();
+    private final Set<String> visiting = new HashSet<>();
+
+    public SectionScheduler(Executor executor) {
+        this.executor = executor;
+    }
+
+    public Map<String, CompletableFuture<Object>> schedule(List<ExportSection> sections, List<ExportSection> selected) {
+        for (var section : sections) this.sections.put(section.name(), section);
+        for (var section : selected) schedule(section);
+        return futures;
+    }
+
+    private CompletableFuture<Object> schedule(ExportSection section) {
+        var future = futures.get(section.name());
+        if (future != null) return future;
+        if (!visiting.add(section.name()))
+            throw new IllegalStateException("Cyclic dependency on section " + section.name());
+        var dependencies = new ArrayList<CompletableFuture<Object>>();
+        for (var name : section.dependencies()) {
+            var dependency = sections.get(name);
+            if (dependency == null)
+                throw new IllegalStateException("Section " + section.name() + " depends on unknown section " + name);
+            dependencies.add(schedule(dependency));
+        }
+        future = CompletableFuture.allOf(dependencies.toArray(CompletableFuture[]::new))
+                .thenApplyAsync(ignored -> collect(section, executor), executor);
+        visiting.remove(section.name());
+        futures.put(section.name(), future);
+        return future;
+    }
+
+    private static Object collect(ExportSection section, Executor executor) {
+        try (var ignored = Timings.phase("collect/" + section.name())) {
+            return section.collector().collect(executor);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package exporter;
+
+import com.mojang.logging.LogUtils;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ShardWriter {
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final String MANIFEST = "manifest.json";
+
+    public static void write(Path directory, List<String> sections, Encoder encoder, ExportOptions options,
+                             Executor executor) throws IOException {
+        recover(directory);
+        var previous = Manifest.read(directory.resolve(MANIFEST));
+        var manifest = new Manifest(options);
+        var unchanged = new AtomicInteger();
+        // Files.createTempDirectory would create an owner-only folder, which publish() turns into the export itself.
+        var temp = Files.createDirectory(DataExporter.tempSibling(directory, "tmp"));
+        try {
+            var writes = new ArrayList<CompletableFuture<Void>>();
+            for (var section : sections) {
+                var fileName = section + ".json" + options.compression.extension;
+                writes.add(CompletableFuture.runAsync(() -> {
+                    var existing = directory.resolve(fileName);
+                    if (manifest.mayReuse(previous, section) && Files.exists(existing)) {
+                        manifest.put(section, hashShard(section, encoder));
+                        if (manifest.isUnchanged(previous, section)) {
+                            linkShard(existing, temp.resolve(fileName));
+                            unchanged.incrementAndGet();
+                            return;
+                        }
+                    }
+                    manifest.put(section, writeShard(temp.resolve(fileName), section, encoder, options));
+                }, executor));
+            }
+            try (var ignored = Timings.phase("write")) {
+                CompletableFuture.allOf(writes.toArray(CompletableFuture[]::new)).join();
+            }
+            if (unchanged.get() == sections.size() && manifest.isUnchanged(previous)) {
+                LOGGER.info("all {} shards in {} are up to date", sections.size(), directory);
+                return;
+            }
+            manifest.write(temp.resolve(MANIFEST));
+            publish(temp, directory);
+        } finally {
+            if (Files.exists(temp)) deleteRecursively(temp);
+        }
+        LOGGER.info("wrote {} shards to {} ({} unchanged)", sections.size(), directory, unchanged.get());
+    }
+
+    private static Manifest.Section writeShard(Path path, String section, Encoder encoder, ExportOptions options) {
+        try (var out = DataExporter.openOutput(path, options)) {
+            var shard = new SectionOutputStream(out, false);
+            encoder.encode(section, shard);
+            return shard.section();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Encodes a shard without writing it anywhere, to find out whether the previous file can be kept.
+    private static Manifest.Section hashShard(String section, Encoder encoder) {
+        try (var shard = new SectionOutputStream(OutputStream.nullOutputStream(), false)) {
+            encoder.encode(section, shard);
+            return shard.section();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Links a shard whose hash matches the previous manifest to the existing file instead of writing it again.
+    private static void linkShard(Path existing, Path path) {
+        try {
+            try {
+                Files.createLink(path, existing);
+            } catch (UnsupportedOperationException | IOException e) {
+                Files.copy(existing, path);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void publish(Path temp, Path directory) throws IOException {
+        Path old = null;
+        if (Files.exists(directory)) {
+            old = DataExporter.tempSibling(directory, "old");
+            Files.move(directory, old, StandardCopyOption.ATOMIC_MOVE);
+        }
+        Files.move(temp, directory, StandardCopyOption.ATOMIC_MOVE);
+        if (old != null) deleteRecursively(old);
+    }
+
+    // publish() cannot swap two directories atomically, so there is a short gap in which the previous export has been
+    // moved aside and the new one is not in place yet. If a run died in that gap, the moved-aside copy is still
+    // complete and is put back before anything else; other leftovers of interrupted runs are deleted.
+    private static void recover(Path directory) throws IOException {
+        var name = directory.getFileName().toString();
+        List<Path> leftovers;
+        try (var siblings = Files.list(directory.toAbsolutePath().getParent())) {
+            leftovers = siblings.filter(path -> path.getFileName().toString().startsWith(name + ".old-")
+                    || path.getFileName().toString().startsWith(name + ".tmp-")).toList();
+        }
+        for (var path : leftovers) {
+            if (!Files.exists(directory) && path.getFileName().toString().startsWith(name + ".old-")) {
+                Files.move(path, directory, StandardCopyOption.ATOMIC_MOVE);
+                LOGGER.warn("restored {} from interrupted publish {}", directory, path.getFileName());
+            } else {
+                deleteRecursively(path);
+            }
+        }
+    }
+
+    public interface Encoder {
+        void encode(String section, OutputStream out) throws IOException;
+    }
+
+    static void deleteRecursively(Path path) throws IOException {
+        try (var paths = Files.walk(path)) {
+            for (var file : paths.sorted(Comparator.reverseOrder()).toList()) Files.delete(file);
+        }
+    }
+}
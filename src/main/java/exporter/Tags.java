@@ -0,0 +1,52 @@
+package exporter;
+
+import com.mojang.logging.LogUtils;
+import net.minecraft.core.Holder;
+import net.minecraft.core.Registry;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.packs.PackType;
+import net.minecraft.server.packs.repository.PackRepository;
+import net.minecraft.server.packs.repository.ServerPacksSource;
+import net.minecraft.server.packs.resources.MultiPackResourceManager;
+import net.minecraft.server.packs.resources.ResourceManager;
+import net.minecraft.tags.TagLoader;
+import net.minecraft.tags.TagManager;
+import org.slf4j.Logger;
+
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.TreeMap;
+
+public class Tags {
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    static List<ExportModel.RegistryTags> collectTags() {
+        var packRepository = new PackRepository(PackType.SERVER_DATA, new ServerPacksSource());
+        packRepository.reload();
+        packRepository.setSelected(List.of("vanilla"));
+        try (var resourceManager = new MultiPackResourceManager(PackType.SERVER_DATA, packRepository.openAllSelected())) {
+            return List.of(
+                    collectRegistryTags(resourceManager, Registry.BLOCK),
+                    collectRegistryTags(resourceManager, Registry.ITEM),
+                    collectRegistryTags(resourceManager, Registry.FLUID),
+                    collectRegistryTags(resourceManager, Registry.ENTITY_TYPE)
+            );
+        }
+    }
+
+    private static <T> ExportModel.RegistryTags collectRegistryTags(ResourceManager resourceManager, Registry<T> registry) {
+        var loader = new TagLoader<Holder<T>>(
+                id -> registry.getHolder(ResourceKey.create(registry.key(), id)).<Holder<T>>map(holder -> holder),
+                TagManager.getTagDir(registry.key()));
+        var tags = new LinkedHashMap<String, byte[]>();
+        for (var tag : new TreeMap<>(loader.loadAndBuild(resourceManager)).entrySet()) {
+            var members = new BitSet(registry.size());
+            for (var holder : tag.getValue()) members.set(registry.getId(holder.value()));
+            tags.put(tag.getKey().toString(), members.toByteArray());
+        }
+        var name = registry.key().location().getPath();
+        LOGGER.info("collected {} {} tags", tags.size(), name);
+        return new ExportModel.RegistryTags(name, registry.size(), tags);
+    }
+}
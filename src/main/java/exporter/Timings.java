@@ -0,0 +1,73 @@
+package exporter;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.mojang.logging.LogUtils;
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class Timings {
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    private static final Map<String, Long> durations = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    public static Phase phase(String name) {
+        return new Phase(name);
+    }
+
+    public static Map<String, Long> snapshot() {
+        synchronized (durations) {
+            return new LinkedHashMap<>(durations);
+        }
+    }
+
+    public static void log() {
+        for (var entry : snapshot().entrySet()) {
+            LOGGER.info("{}: {} ms", entry.getKey(), entry.getValue() / 1_000_000);
+        }
+    }
+
+    public static void write(Path path) throws IOException {
+        var json = new JsonObject();
+        for (var entry : snapshot().entrySet()) json.addProperty(entry.getKey(), entry.getValue() / 1_000_000.0);
+        Files.writeString(path, GSON.toJson(json));
+    }
+
+    public static class Phase implements AutoCloseable {
+        private final String name;
+        private final PhaseEvent event = new PhaseEvent();
+        private final long start = System.nanoTime();
+
+        private Phase(String name) {
+            this.name = name;
+            event.phase = name;
+            event.begin();
+        }
+
+        @Override
+        public void close() {
+            // A section can be encoded once for its hash and once into the file, so repeated phases add up.
+            durations.merge(name, System.nanoTime() - start, Long::sum);
+            event.commit();
+        }
+    }
+
+    @Name("exporter.Phase")
+    @Label("Export Phase")
+    @Category("Data Exporter")
+    static class PhaseEvent extends Event {
+        @Label("Phase")
+        String phase;
+    }
+}
@@ -0,0 +1,77 @@
+package exporter;
+
+import exporter.reader.BinaryFormat;
+import exporter.reader.ExportReader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BinarySinkTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void replacesExistingFile() throws IOException {
+        var tables = new ArrayList<List<Object[]>>();
+        for (int i = 0; i < BinaryFormat.SECTION_COUNT; i++) tables.add(new ArrayList<>());
+        var path = directory.resolve("export.bin");
+        BinarySink.write(path, tables);
+        var previous = ExportReader.open(path);
+        tables.get(BinaryFormat.ITEMS).add(new Object[]{"minecraft:stick", "Item", 64, 0});
+        BinarySink.write(path, tables);
+
+        assertEquals(0, previous.items().count());
+        assertEquals(1, ExportReader.open(path).items().count());
+        try (var files = Files.list(directory)) {
+            assertEquals(List.of(path), files.toList());
+        }
+    }
+
+    @Test
+    void readsBackWrittenTables() throws IOException {
+        var tables = new ArrayList<List<Object[]>>();
+        for (int i = 0; i < BinaryFormat.SECTION_COUNT; i++) tables.add(new ArrayList<>());
+        tables.get(BinaryFormat.BLOCKS).add(new Object[]{"minecraft:stone", "Block", 1, 1, 0, 0});
+        tables.get(BinaryFormat.BLOCKS).add(new Object[]{"minecraft:air", "AirBlock", 0, 1, 0, 0});
+        tables.get(BinaryFormat.BLOCKS).add(new Object[]{"minecraft:oak_log", "RotatedPillarBlock", 117, 3, 0, 1});
+        tables.get(BinaryFormat.BLOCK_PROPERTIES).add(new Object[]{"axis", 3});
+        tables.get(BinaryFormat.ENTITY_TYPES).add(new Object[]{"minecraft:pig", "Pig", "creature", 0.9f, 0.9f, 10});
+        tables.get(BinaryFormat.PACKETS).add(new Object[]{"play", "clientbound", 0, "ClientboundAddEntityPacket"});
+
+        var path = directory.resolve("export.bin");
+        BinarySink.write(path, tables);
+        var reader = ExportReader.open(path);
+
+        var blocks = reader.blocks();
+        assertEquals(3, blocks.count());
+        int stone = blocks.find("minecraft:stone");
+        assertEquals(0, stone);
+        assertEquals("Block", blocks.getString(stone, BinaryFormat.BLOCK_CLASS));
+        assertEquals(1, blocks.getInt(stone, BinaryFormat.BLOCK_DEFAULT_STATE_ID));
+        assertEquals(1, blocks.find("minecraft:air"));
+        assertEquals(-1, blocks.find("minecraft:dirt"));
+        assertEquals(-1, blocks.find("Block"));
+
+        int log = blocks.find("minecraft:oak_log");
+        assertEquals(1, blocks.getInt(log, BinaryFormat.BLOCK_PROPERTY_COUNT));
+        int axis = blocks.getInt(log, BinaryFormat.BLOCK_FIRST_PROPERTY);
+        assertEquals("axis", reader.blockProperties().getString(axis, BinaryFormat.BLOCK_PROPERTY_NAME));
+        assertEquals(3, reader.blockProperties().getInt(axis, BinaryFormat.BLOCK_PROPERTY_VALUE_COUNT));
+
+        var entityTypes = reader.entityTypes();
+        int pig = entityTypes.find("minecraft:pig");
+        assertEquals("creature", entityTypes.getString(pig, BinaryFormat.ENTITY_TYPE_CATEGORY));
+        assertEquals(0.9f, entityTypes.getFloat(pig, BinaryFormat.ENTITY_TYPE_WIDTH));
+        assertEquals(10, entityTypes.getInt(pig, BinaryFormat.ENTITY_TYPE_TRACKING_RANGE));
+
+        assertEquals(0, reader.items().count());
+        assertEquals("ClientboundAddEntityPacket", reader.packets().getString(0, BinaryFormat.PACKET_NAME));
+    }
+}
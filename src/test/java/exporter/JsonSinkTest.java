@@ -0,0 +1,104 @@
+package exporter;
+
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JsonSinkTest {
+    private static final List<String> SECTIONS = List.of("items", "enumClasses");
+    private static final FileTime OLD = FileTime.fromMillis(0);
+
+    @TempDir
+    Path directory;
+
+    static ExportModel model(int stoneStackSize) {
+        var items = List.of(
+                new ExportModel.ItemInfo("minecraft:air", 0, "AirItem", null, "common", 64, 0, false, null),
+                new ExportModel.ItemInfo("minecraft:stone", 1, "BlockItem", "building_blocks", "common", stoneStackSize, 0,
+                        false, null));
+        var enumClasses = List.of(new ExportModel.EnumClassInfo("Direction.Axis", List.of("X", "Y", "Z")));
+        return new ExportModel(null, null, null, null, null, null, items, null, null, null, null, null, null, null,
+                enumClasses);
+    }
+
+    private void write(ExportModel model, ExportOptions options) throws IOException {
+        new JsonSink(directory, options, SECTIONS).write(model, Runnable::run);
+    }
+
+    @Test
+    void keepsUnchangedExport() throws IOException {
+        var options = new ExportOptions();
+        var path = directory.resolve("export.json");
+        var manifestPath = directory.resolve("export.manifest.json");
+        write(model(64), options);
+        var manifest = Files.readString(manifestPath);
+        Files.setLastModifiedTime(path, OLD);
+
+        write(model(64), options);
+        assertEquals(OLD, Files.getLastModifiedTime(path));
+        assertEquals(manifest, Files.readString(manifestPath));
+
+        write(model(16), options);
+        assertNotEquals(OLD, Files.getLastModifiedTime(path));
+        assertNotEquals(manifest, Files.readString(manifestPath));
+        try (var files = Files.list(directory)) {
+            assertEquals(2, files.count());
+        }
+    }
+
+    @Test
+    void hashesSectionsAsWrittenOnTheirOwn() throws IOException, NoSuchAlgorithmException {
+        var options = new ExportOptions();
+        var model = model(64);
+        write(model, options);
+        var export = Files.readString(directory.resolve("export.json"));
+        var exportJson = JsonParser.parseString(export).getAsJsonObject();
+        var manifest = JsonParser.parseString(Files.readString(directory.resolve("export.manifest.json")))
+                .getAsJsonObject().getAsJsonObject("sections");
+
+        for (var section : SECTIONS) {
+            var bytes = JsonSink.render(model, section, options);
+            var text = new String(bytes, StandardCharsets.UTF_8);
+            assertTrue(export.contains("\n  \"" + section + "\": " + text.replace("\n", "\n  ")));
+            assertEquals(JsonParser.parseString(text), exportJson.get(section));
+            var hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+            assertEquals(hash, manifest.getAsJsonObject(section).get("sha256").getAsString());
+            assertEquals(bytes.length, manifest.getAsJsonObject(section).get("size").getAsInt());
+        }
+    }
+
+    @Test
+    void rewritesOnlyChangedShards() throws IOException {
+        var options = new ExportOptions();
+        options.sharded = true;
+        var shards = directory.resolve("export");
+        write(model(64), options);
+        var manifest = JsonParser.parseString(Files.readString(shards.resolve("manifest.json"))).getAsJsonObject();
+        for (var section : SECTIONS) Files.setLastModifiedTime(shards.resolve(section + ".json"), OLD);
+
+        write(model(16), options);
+        assertNotEquals(OLD, Files.getLastModifiedTime(shards.resolve("items.json")));
+        assertEquals(OLD, Files.getLastModifiedTime(shards.resolve("enumClasses.json")));
+        var newManifest = JsonParser.parseString(Files.readString(shards.resolve("manifest.json"))).getAsJsonObject();
+        var sections = manifest.getAsJsonObject("sections");
+        var newSections = newManifest.getAsJsonObject("sections");
+        assertNotEquals(sections.get("items"), newSections.get("items"));
+        assertEquals(sections.get("enumClasses"), newSections.get("enumClasses"));
+        assertEquals(JsonParser.parseString(new String(JsonSink.render(model(16), "items", options), StandardCharsets.UTF_8)),
+                JsonParser.parseString(Files.readString(shards.resolve("items.json"))));
+    }
+}
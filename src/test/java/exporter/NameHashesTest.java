@@ -0,0 +1,27 @@
+package exporter;
+
+import exporter.reader.PerfectHash;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class NameHashesTest {
+    @Test
+    void mapsEveryNameToItsId() {
+        var names = new ArrayList<String>();
+        for (int i = 0; i < 1000; i++) names.add("minecraft:name_" + i);
+        var nameHash = NameHashes.build("block", names);
+        var hash = new PerfectHash(nameHash.displacements(), nameHash.ids());
+        assertEquals(names.size(), hash.size());
+        for (int id = 0; id < names.size(); id++) assertEquals(id, hash.id(names.get(id)));
+    }
+
+    @Test
+    void handlesSingleName() {
+        var nameHash = NameHashes.build("item", List.of("minecraft:air"));
+        assertEquals(0, new PerfectHash(nameHash.displacements(), nameHash.ids()).id("minecraft:air"));
+    }
+}
@@ -0,0 +1,58 @@
+package exporter;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class ShardWriterTest {
+    private static final FileTime OLD = FileTime.fromMillis(0);
+
+    @TempDir
+    Path directory;
+
+    private static ShardWriter.Encoder encoder(Map<String, String> sections) {
+        return (section, out) -> out.write(sections.get(section).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void restoresExportLeftAsideByInterruptedPublish() throws IOException {
+        var sections = Map.of("a", "[1]", "b", "[2]");
+        var export = directory.resolve("export");
+        var options = new ExportOptions();
+        ShardWriter.write(export, List.of("a", "b"), encoder(sections), options, Runnable::run);
+        Files.setLastModifiedTime(export.resolve("a.json"), OLD);
+        Files.move(export, directory.resolve("export.old-1"));
+        Files.createDirectory(directory.resolve("export.tmp-2"));
+
+        ShardWriter.write(export, List.of("a", "b"), encoder(sections), options, Runnable::run);
+        assertEquals(OLD, Files.getLastModifiedTime(export.resolve("a.json")));
+        assertFalse(Files.exists(directory.resolve("export.old-1")));
+        assertFalse(Files.exists(directory.resolve("export.tmp-2")));
+        try (var files = Files.list(directory)) {
+            assertEquals(List.of(export), files.toList());
+        }
+    }
+
+    @Test
+    void publishesNewSectionsAndDropsRemovedOnes() throws IOException {
+        var export = directory.resolve("export");
+        var options = new ExportOptions();
+        ShardWriter.write(export, List.of("a", "b"), encoder(Map.of("a", "[1]", "b", "[2]")), options, Runnable::run);
+        Files.setLastModifiedTime(export.resolve("a.json"), OLD);
+
+        ShardWriter.write(export, List.of("a", "c"), encoder(Map.of("a", "[1]", "c", "[3]")), options, Runnable::run);
+        assertEquals(OLD, Files.getLastModifiedTime(export.resolve("a.json")));
+        assertEquals("[3]", Files.readString(export.resolve("c.json")));
+        assertFalse(Files.exists(export.resolve("b.json")));
+    }
+}